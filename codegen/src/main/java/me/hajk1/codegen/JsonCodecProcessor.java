@@ -0,0 +1,394 @@
+package me.hajk1.codegen;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeMirror;
+import javax.tools.Diagnostic;
+
+/**
+ * Writes a {@code <Type>JsonCodec} for every {@code @JsonCodec} class. It only looks at the
+ * declared fields and calls the accessors Lombok will add ({@code getX()}/{@code isX()}, {@code
+ * builder()}), so it doesn't matter whether Lombok runs before or after it - the generated source
+ * is compiled in a later round, once Lombok has filled the class in.
+ *
+ * <p>A module of its own, so it never ships with the service: the service's main compile puts
+ * this module's jar on its processor path, next to Lombok, and javac picks the processor up from
+ * {@code META-INF/services}.
+ */
+@SupportedAnnotationTypes("me.hajk1.codegen.JsonCodec")
+public class JsonCodecProcessor extends AbstractProcessor {
+
+  private static final String SUPPORT = "JsonCodecSupport";
+  private static final String JSON_PROPERTY = "com.fasterxml.jackson.annotation.JsonProperty";
+
+  @Override
+  public SourceVersion getSupportedSourceVersion() {
+    return SourceVersion.latestSupported();
+  }
+
+  @Override
+  public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment round) {
+    // Only ever @JsonCodec, which lives in the service module and isn't on this one's classpath
+    for (TypeElement annotation : annotations) {
+      for (Element element : round.getElementsAnnotatedWith(annotation)) {
+        if (element.getKind() != ElementKind.CLASS) {
+          error(element, "@JsonCodec only applies to classes");
+          continue;
+        }
+        TypeElement type = (TypeElement) element;
+        List<Field> fields = fieldsOf(type);
+        if (fields != null) {
+          write(type, fields);
+        }
+      }
+    }
+    return true;
+  }
+
+  private List<Field> fieldsOf(TypeElement type) {
+    List<Field> fields = new ArrayList<>();
+    boolean supported = true;
+    for (Element member : type.getEnclosedElements()) {
+      if (member.getKind() != ElementKind.FIELD
+          || member.getModifiers().contains(Modifier.STATIC)
+          || member.getModifiers().contains(Modifier.TRANSIENT)) {
+        continue;
+      }
+      VariableElement field = (VariableElement) member;
+      Kind kind = kindOf(field.asType());
+      if (kind == null) {
+        error(field, "@JsonCodec doesn't support fields of type " + field.asType());
+        supported = false;
+        continue;
+      }
+      fields.add(new Field(field, kind, jsonName(field)));
+    }
+    return supported ? fields : null;
+  }
+
+  private Kind kindOf(TypeMirror type) {
+    switch (type.getKind()) {
+      case INT:
+        return Kind.INT;
+      case LONG:
+        return Kind.LONG;
+      case DOUBLE:
+        return Kind.DOUBLE;
+      case BOOLEAN:
+        return Kind.BOOLEAN;
+      case DECLARED:
+        break;
+      default:
+        return null;
+    }
+    DeclaredType declared = (DeclaredType) type;
+    TypeElement element = (TypeElement) declared.asElement();
+    if (element.getKind() == ElementKind.ENUM) {
+      return Kind.ENUM;
+    }
+    switch (element.getQualifiedName().toString()) {
+      case "java.lang.String":
+        return Kind.STRING;
+      case "java.math.BigDecimal":
+        return Kind.BIG_DECIMAL;
+      case "java.lang.Integer":
+        return Kind.BOXED_INT;
+      case "java.lang.Long":
+        return Kind.BOXED_LONG;
+      case "java.lang.Double":
+        return Kind.BOXED_DOUBLE;
+      case "java.lang.Boolean":
+        return Kind.BOXED_BOOLEAN;
+      case "java.util.List":
+        List<? extends TypeMirror> args = declared.getTypeArguments();
+        return args.size() == 1 && args.get(0).toString().equals("java.lang.String")
+            ? Kind.STRING_LIST
+            : null;
+      default:
+        return null;
+    }
+  }
+
+  private static String jsonName(VariableElement field) {
+    for (AnnotationMirror annotation : field.getAnnotationMirrors()) {
+      if (annotation.getAnnotationType().toString().equals(JSON_PROPERTY)) {
+        for (var entry : annotation.getElementValues().entrySet()) {
+          String value = entry.getValue().getValue().toString();
+          if (entry.getKey().getSimpleName().contentEquals("value") && !value.isEmpty()) {
+            return value;
+          }
+        }
+      }
+    }
+    return field.getSimpleName().toString();
+  }
+
+  private void write(TypeElement type, List<Field> fields) {
+    String packageName = packageOf(type).getQualifiedName().toString();
+    String typeName = type.getSimpleName().toString();
+    String codecName = typeName + "JsonCodec";
+
+    // One cached values() array per enum type, so decoding doesn't clone it per call
+    Map<String, String> enumValues = new LinkedHashMap<>();
+    for (Field field : fields) {
+      if (field.kind == Kind.ENUM) {
+        String enumType = field.element.asType().toString();
+        enumValues.putIfAbsent(enumType, constantName(enumType) + "_VALUES");
+      }
+    }
+
+    StringBuilder src = new StringBuilder(4096);
+    if (!packageName.isEmpty()) {
+      src.append("package ").append(packageName).append(";\n\n");
+    }
+    src.append("import com.fasterxml.jackson.core.JsonGenerator;\n")
+        .append("import com.fasterxml.jackson.core.JsonParser;\n")
+        .append("import com.fasterxml.jackson.core.JsonToken;\n")
+        .append("import io.vertx.core.buffer.Buffer;\n")
+        .append("import java.io.IOException;\n")
+        .append("import javax.annotation.processing.Generated;\n")
+        .append("import me.hajk1.codegen.JsonCodecSupport;\n\n")
+        .append("/** JSON codec for {@link ")
+        .append(typeName)
+        .append("}, generated from its fields. */\n")
+        .append("@Generated(\"")
+        .append(JsonCodecProcessor.class.getName())
+        .append("\")\n")
+        .append("public final class ")
+        .append(codecName)
+        .append(" {\n\n");
+    enumValues.forEach(
+        (enumType, constant) ->
+            src.append("  private static final ")
+                .append(enumType)
+                .append("[] ")
+                .append(constant)
+                .append(" = ")
+                .append(enumType)
+                .append(".values();\n"));
+    if (!enumValues.isEmpty()) {
+      src.append('\n');
+    }
+    src.append("  private ").append(codecName).append("() {}\n\n");
+
+    // decode
+    src.append("  public static ")
+        .append(typeName)
+        .append(" decode(Buffer body) {\n")
+        .append("    var builder = ")
+        .append(typeName)
+        .append(".builder();\n")
+        .append("    try (JsonParser parser = ")
+        .append(SUPPORT)
+        .append(".parser(body)) {\n")
+        .append("      ")
+        .append(SUPPORT)
+        .append(".startObject(parser);\n")
+        .append("      while (parser.nextToken() == JsonToken.FIELD_NAME) {\n")
+        .append("        String field = parser.currentName();\n")
+        .append("        parser.nextToken();\n")
+        .append("        switch (field) {\n");
+    for (Field field : fields) {
+      src.append("          case \"")
+          .append(escape(field.jsonName))
+          .append("\":\n")
+          .append("            builder.")
+          .append(field.element.getSimpleName())
+          .append('(')
+          .append(readExpression(field, enumValues))
+          .append(");\n")
+          .append("            break;\n");
+    }
+    src.append("          default:\n")
+        .append("            parser.skipChildren(); // Unknown properties are ignored\n")
+        .append("        }\n")
+        .append("      }\n")
+        .append("      ")
+        .append(SUPPORT)
+        .append(".endOfInput(parser);\n")
+        .append("    } catch (IOException e) {\n")
+        .append("      throw ")
+        .append(SUPPORT)
+        .append(".decodeFailure(e);\n")
+        .append("    }\n")
+        .append("    return builder.build();\n")
+        .append("  }\n\n");
+
+    // encode
+    src.append("  public static Buffer encode(")
+        .append(typeName)
+        .append(" value) {\n")
+        .append("    Buffer out = Buffer.buffer(128);\n")
+        .append("    encode(value, out);\n")
+        .append("    return out;\n")
+        .append("  }\n\n")
+        .append("  public static void encode(")
+        .append(typeName)
+        .append(" value, Buffer out) {\n")
+        .append("    try (JsonGenerator generator = ")
+        .append(SUPPORT)
+        .append(".generator(out)) {\n")
+        .append("      generator.writeStartObject();\n");
+    for (Field field : fields) {
+      src.append("      generator.writeFieldName(\"")
+          .append(escape(field.jsonName))
+          .append("\");\n")
+          .append("      ")
+          .append(writeStatement(field))
+          .append('\n');
+    }
+    src.append("      generator.writeEndObject();\n")
+        .append("    } catch (IOException e) {\n")
+        .append("      // Only writes to memory\n")
+        .append("      throw new IllegalStateException(e);\n")
+        .append("    }\n")
+        .append("  }\n")
+        .append("}\n");
+
+    String qualifiedName = packageName.isEmpty() ? codecName : packageName + "." + codecName;
+    try (Writer writer =
+        processingEnv.getFiler().createSourceFile(qualifiedName, type).openWriter()) {
+      writer.write(src.toString());
+    } catch (IOException e) {
+      error(type, "Could not write " + qualifiedName + ": " + e.getMessage());
+    }
+  }
+
+  private static String readExpression(Field field, Map<String, String> enumValues) {
+    switch (field.kind) {
+      case INT:
+        return SUPPORT + ".readInt(parser)";
+      case LONG:
+        return SUPPORT + ".readLong(parser)";
+      case DOUBLE:
+        return SUPPORT + ".readDouble(parser)";
+      case BOOLEAN:
+        return SUPPORT + ".readBoolean(parser)";
+      case BOXED_INT:
+        return SUPPORT + ".readInteger(parser)";
+      case BOXED_LONG:
+        return SUPPORT + ".readLongObject(parser)";
+      case BOXED_DOUBLE:
+        return SUPPORT + ".readDoubleObject(parser)";
+      case BOXED_BOOLEAN:
+        return SUPPORT + ".readBooleanObject(parser)";
+      case STRING:
+        return SUPPORT + ".readString(parser)";
+      case BIG_DECIMAL:
+        return SUPPORT + ".readBigDecimal(parser)";
+      case ENUM:
+        return SUPPORT
+            + ".readEnum(parser, "
+            + enumValues.get(field.element.asType().toString())
+            + ")";
+      case STRING_LIST:
+        return SUPPORT + ".readStringList(parser)";
+      default:
+        throw new IllegalStateException(field.kind.name());
+    }
+  }
+
+  private static String writeStatement(Field field) {
+    String getter = "value." + getterOf(field) + "()";
+    switch (field.kind) {
+      case INT:
+      case LONG:
+      case DOUBLE:
+        // Primitives go straight to the generator, no boxing
+        return "generator.writeNumber(" + getter + ");";
+      case BOOLEAN:
+        return "generator.writeBoolean(" + getter + ");";
+      case BOXED_INT:
+        return SUPPORT + ".writeInteger(generator, " + getter + ");";
+      case BOXED_LONG:
+        return SUPPORT + ".writeLong(generator, " + getter + ");";
+      case BOXED_DOUBLE:
+        return SUPPORT + ".writeDouble(generator, " + getter + ");";
+      case BOXED_BOOLEAN:
+        return SUPPORT + ".writeBoolean(generator, " + getter + ");";
+      case STRING:
+        return SUPPORT + ".writeString(generator, " + getter + ");";
+      case BIG_DECIMAL:
+        return SUPPORT + ".writeBigDecimal(generator, " + getter + ");";
+      case ENUM:
+        return SUPPORT + ".writeEnum(generator, " + getter + ");";
+      case STRING_LIST:
+        return SUPPORT + ".writeStringList(generator, " + getter + ");";
+      default:
+        throw new IllegalStateException(field.kind.name());
+    }
+  }
+
+  // Lombok's naming: isX() for primitive booleans, getX() otherwise
+  private static String getterOf(Field field) {
+    String name = field.element.getSimpleName().toString();
+    String capitalized = Character.toUpperCase(name.charAt(0)) + name.substring(1);
+    return (field.kind == Kind.BOOLEAN ? "is" : "get") + capitalized;
+  }
+
+  private static PackageElement packageOf(Element element) {
+    Element current = element;
+    while (current.getKind() != ElementKind.PACKAGE) {
+      current = current.getEnclosingElement();
+    }
+    return (PackageElement) current;
+  }
+
+  private static String constantName(String qualifiedType) {
+    String simple = qualifiedType.substring(qualifiedType.lastIndexOf('.') + 1);
+    return simple.replaceAll("([a-z0-9])([A-Z])", "$1_$2").toUpperCase(Locale.ROOT);
+  }
+
+  private static String escape(String value) {
+    return value.replace("\\", "\\\\").replace("\"", "\\\"");
+  }
+
+  private void error(Element element, String message) {
+    processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element);
+  }
+
+  private enum Kind {
+    INT,
+    LONG,
+    DOUBLE,
+    BOOLEAN,
+    BOXED_INT,
+    BOXED_LONG,
+    BOXED_DOUBLE,
+    BOXED_BOOLEAN,
+    STRING,
+    BIG_DECIMAL,
+    ENUM,
+    STRING_LIST
+  }
+
+  private static final class Field {
+    private final VariableElement element;
+    private final Kind kind;
+    private final String jsonName;
+
+    Field(VariableElement element, Kind kind, String jsonName) {
+      this.element = element;
+      this.kind = kind;
+      this.jsonName = jsonName;
+    }
+  }
+}
@@ -0,0 +1,66 @@
+package me.hajk1.benchmark;
+
+import io.vertx.core.Future;
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+import me.hajk1.domain.model.CabinClass;
+import me.hajk1.domain.model.CustomerTier;
+import me.hajk1.domain.model.PointsQuoteRequest;
+import me.hajk1.domain.model.PointsQuoteResponse;
+import me.hajk1.domain.model.PromoDetails;
+import me.hajk1.domain.service.PointsCalculationService;
+import me.hajk1.domain.service.PointsCalculationServiceImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * {@code calculatePoints} end to end with in-memory FX and promo services, so the numbers are the
+ * service's own cost: validation, future composition and the points math. Futures from the stubs
+ * are already complete, so the result is ready when the call returns.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class QuoteCalculationBenchmark {
+
+  @Param({"NONE", "SUMMER25"})
+  public String promoCode;
+
+  private PointsCalculationService service;
+  private PointsQuoteRequest request;
+
+  @Setup
+  public void setUp() {
+    PromoDetails summer =
+        PromoDetails.builder().code("SUMMER25").bonusPercentage(25).expiresInDays(30).build();
+    service =
+        new PointsCalculationServiceImpl(
+            (from, to) -> Future.succeededFuture(3.67),
+            code -> Future.succeededFuture(summer));
+    request =
+        PointsQuoteRequest.builder()
+            .fareAmount(new BigDecimal("1234.50"))
+            .currency("USD")
+            .cabinClass(CabinClass.ECONOMY)
+            .customerTier(CustomerTier.GOLD)
+            .promoCode("NONE".equals(promoCode) ? null : promoCode)
+            .build();
+  }
+
+  @Benchmark
+  public PointsQuoteResponse calculatePoints() {
+    return service.calculatePoints(request).result();
+  }
+}
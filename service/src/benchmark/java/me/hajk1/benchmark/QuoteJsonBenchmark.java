@@ -0,0 +1,77 @@
+package me.hajk1.benchmark;
+
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.JsonObject;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import me.hajk1.domain.model.PointsQuoteRequest;
+import me.hajk1.domain.model.PointsQuoteRequestJsonCodec;
+import me.hajk1.domain.model.PointsQuoteResponse;
+import me.hajk1.domain.model.PointsQuoteResponseJsonCodec;
+import me.hajk1.infrastructure.config.JacksonConfig;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Request decoding and response encoding: the generated codecs {@code PointsQuoteHandler} uses,
+ * against the {@code JsonObject} + databind path it used before (still used by batch and stream).
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class QuoteJsonBenchmark {
+
+  private Buffer requestBody;
+  private PointsQuoteResponse response;
+
+  @Setup
+  public void setUp() {
+    JacksonConfig.configure();
+    requestBody =
+        Buffer.buffer(
+            """
+            {"fareAmount":1234.50,"currency":"USD","cabinClass":"ECONOMY",\
+            "customerTier":"GOLD","promoCode":"SUMMER25"}""");
+    response =
+        PointsQuoteResponse.builder()
+            .basePoints(4531)
+            .tierBonus(1359)
+            .promoBonus(1472)
+            .totalPoints(7362)
+            .effectiveFxRate(3.67)
+            .warnings(List.of("PROMO_EXPIRES_SOON"))
+            .build();
+  }
+
+  @Benchmark
+  public PointsQuoteRequest decodeRequest() {
+    return PointsQuoteRequestJsonCodec.decode(requestBody);
+  }
+
+  @Benchmark
+  public PointsQuoteRequest decodeRequestDatabind() {
+    return requestBody.toJsonObject().mapTo(PointsQuoteRequest.class);
+  }
+
+  @Benchmark
+  public Buffer encodeResponse() {
+    return PointsQuoteResponseJsonCodec.encode(response);
+  }
+
+  @Benchmark
+  public Buffer encodeResponseDatabind() {
+    // end(String) turned the handler's encode() back into bytes, so that's part of the cost
+    return Buffer.buffer(JsonObject.mapFrom(response).encode());
+  }
+}
@@ -0,0 +1,47 @@
+package me.hajk1.domain.service;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+import me.hajk1.domain.model.CustomerTier;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Fixed-point points math against the BigDecimal reference it replaced. Lives in the service
+ * package because {@link PointsArithmetic} is package-private.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PointsArithmeticBenchmark {
+
+  // Non-final so the JIT can't constant-fold the inputs
+  private BigDecimal fareAmount = new BigDecimal("1234.50");
+  private double fxRate = 3.67;
+  private CustomerTier tier = CustomerTier.GOLD;
+  private int bonusPercentage = 25;
+
+  @Benchmark
+  public int fixedPoint() {
+    int basePoints = PointsArithmetic.basePoints(fareAmount, fxRate);
+    int tierBonus = PointsArithmetic.tierBonus(basePoints, tier);
+    return PointsArithmetic.promoBonus(basePoints + tierBonus, bonusPercentage);
+  }
+
+  @Benchmark
+  public int bigDecimal() {
+    int basePoints = PointsArithmetic.basePointsReference(fareAmount, fxRate);
+    int tierBonus = PointsArithmetic.tierBonusReference(basePoints, tier);
+    return PointsArithmetic.promoBonusReference(basePoints + tierBonus, bonusPercentage);
+  }
+}
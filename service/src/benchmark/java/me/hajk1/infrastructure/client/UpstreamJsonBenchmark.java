@@ -0,0 +1,61 @@
+package me.hajk1.infrastructure.client;
+
+import io.vertx.core.buffer.Buffer;
+import java.util.concurrent.TimeUnit;
+import me.hajk1.domain.model.FxRateResponse;
+import me.hajk1.domain.model.PromoDetails;
+import me.hajk1.infrastructure.config.JacksonConfig;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Upstream body parsing: the old {@code toJsonObject().mapTo(...)} path against {@link
+ * UpstreamJson}. Run with {@code -prof gc} and compare {@code gc.alloc.rate.norm}.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class UpstreamJsonBenchmark {
+
+  private Buffer fxBody;
+  private Buffer promoBody;
+
+  @Setup
+  public void setUp() {
+    JacksonConfig.configure();
+    fxBody = Buffer.buffer("{\"rate\":3.67,\"timestamp\":\"2025-11-25T10:00:00Z\"}");
+    promoBody =
+        Buffer.buffer("{\"code\":\"SUMMER25\",\"bonusPercentage\":25,\"expiresInDays\":30}");
+  }
+
+  @Benchmark
+  public double fxDatabind() {
+    return fxBody.toJsonObject().mapTo(FxRateResponse.class).getRate();
+  }
+
+  @Benchmark
+  public double fxStreaming() {
+    return UpstreamJson.fxRate(fxBody);
+  }
+
+  @Benchmark
+  public PromoDetails promoDatabind() {
+    return promoBody.toJsonObject().mapTo(PromoDetails.class);
+  }
+
+  @Benchmark
+  public PromoDetails promoStreaming() {
+    return UpstreamJson.promoDetails("SUMMER25", promoBody);
+  }
+}
@@ -0,0 +1,325 @@
+package me.hajk1.loadtest;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.core.VertxOptions;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.ext.web.client.HttpResponse;
+import io.vertx.ext.web.client.WebClient;
+import io.vertx.ext.web.client.WebClientOptions;
+import java.io.PrintStream;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import me.hajk1.DemoApplication;
+import me.hajk1.loadtest.LoadOptions.Mode;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+/**
+ * Closed- and open-loop load against the quote endpoint, with HdrHistogram latency reports.
+ *
+ * <p>Every request has an intended start time. In open-loop mode that's its slot in the fixed
+ * schedule, so when the service (or this client) falls behind, the wait for a late slot is counted
+ * - that's the coordinated-omission correction. Closed-loop requests start as soon as the previous
+ * one finishes, so the two times are the same there; use open loop for latency SLOs and closed loop
+ * to find peak throughput.
+ *
+ * <p>Usage: {@code mvn -Pbenchmark test-compile exec:exec@load -Dload.args="--mode=open
+ * --rps=2000 --embedded"}. Options are listed in the README.
+ */
+public class LoadGenerator {
+
+  private final LoadOptions options;
+  private final Vertx vertx;
+
+  // Response time counts from the intended start, service time from the actual send
+  private final Recorder responseTimes = new Recorder(3);
+  private final Recorder serviceTimes = new Recorder(3);
+  private final LongAdder succeeded = new LongAdder();
+  private final Map<String, LongAdder> failures = new ConcurrentHashMap<>();
+  private final AtomicLong inFlight = new AtomicLong();
+
+  private volatile boolean running = true;
+  private long measureFromNanos;
+
+  // JVM-wide, so with --embedded they cover the service and the generator together
+  private long peakHeapBytes;
+  private long gcCount;
+  private long gcMillis;
+
+  LoadGenerator(LoadOptions options, Vertx vertx) {
+    this.options = options;
+    this.vertx = vertx;
+  }
+
+  public static void main(String[] args) throws Exception {
+    LoadOptions options = LoadOptions.parse(args);
+    if (options.isEmbedded()) {
+      // Service and mocks in this JVM: handy, but they share the CPU with the generator
+      System.setProperty("demo.virtualThreads", String.valueOf(options.isVirtualThreads()));
+      System.setProperty("demo.nativeTransport", String.valueOf(options.isNativeTransport()));
+      DemoApplication.main(new String[0]);
+    }
+
+    Vertx vertx =
+        Vertx.vertx(
+            new VertxOptions()
+                .setEventLoopPoolSize(options.getThreads())
+                .setPreferNativeTransport(options.isNativeTransport()));
+    int status = 0;
+    try {
+      LoadGenerator generator = new LoadGenerator(options, vertx);
+      generator.awaitService();
+      generator.run();
+      generator.report(System.out);
+    } catch (Exception e) {
+      e.printStackTrace();
+      status = 1;
+    }
+    vertx.close().toCompletionStage().toCompletableFuture().get(10, TimeUnit.SECONDS);
+    // An embedded service would keep the JVM alive
+    System.exit(status);
+  }
+
+  /** Polls until the endpoint answers, so an embedded service has time to start. */
+  private void awaitService() throws InterruptedException {
+    WebClient probe = WebClient.create(vertx);
+    Buffer body = new RequestMix(options).next();
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+    while (System.nanoTime() < deadline) {
+      try {
+        probe
+            .post(options.getPort(), options.getHost(), options.getPath())
+            .putHeader("Content-Type", "application/json")
+            .sendBuffer(body)
+            .toCompletionStage()
+            .toCompletableFuture()
+            .get(2, TimeUnit.SECONDS);
+        probe.close();
+        return;
+      } catch (Exception e) {
+        Thread.sleep(500);
+      }
+    }
+    throw new IllegalStateException(
+        "Service not reachable at " + options.getHost() + ":" + options.getPort());
+  }
+
+  private void run() throws InterruptedException {
+    long startNanos = System.nanoTime();
+    measureFromNanos = startNanos + options.getWarmup().toNanos();
+    int threads = options.getThreads();
+    for (int worker = 0; worker < threads; worker++) {
+      // Off a Vert.x thread, each call gives a new context, spread over the event loops
+      Context context = vertx.getOrCreateContext();
+      int index = worker;
+      context.runOnContext(v -> startWorker(index, startNanos));
+    }
+
+    Thread.sleep(options.getWarmup().toMillis());
+    sampleMemory(startNanos + options.getWarmup().plus(options.getDuration()).toNanos());
+    running = false;
+
+    // Let requests already on the wire finish so their latency is counted
+    long drainDeadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+    while (inFlight.get() > 0 && System.nanoTime() < drainDeadline) {
+      Thread.sleep(10);
+    }
+  }
+
+  /** Until {@code endNanos}: peak heap in use, and collections and GC time over the window. */
+  private void sampleMemory(long endNanos) throws InterruptedException {
+    MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+    long countBefore = totalGcCount();
+    long millisBefore = totalGcMillis();
+    while (System.nanoTime() < endNanos) {
+      peakHeapBytes = Math.max(peakHeapBytes, memory.getHeapMemoryUsage().getUsed());
+      Thread.sleep(100);
+    }
+    gcCount = totalGcCount() - countBefore;
+    gcMillis = totalGcMillis() - millisBefore;
+  }
+
+  private static long totalGcCount() {
+    return ManagementFactory.getGarbageCollectorMXBeans().stream()
+        .mapToLong(GarbageCollectorMXBean::getCollectionCount)
+        .sum();
+  }
+
+  private static long totalGcMillis() {
+    return ManagementFactory.getGarbageCollectorMXBeans().stream()
+        .mapToLong(GarbageCollectorMXBean::getCollectionTime)
+        .sum();
+  }
+
+  private void startWorker(int index, long startNanos) {
+    int threads = options.getThreads();
+    WebClient client =
+        WebClient.create(
+            vertx,
+            new WebClientOptions()
+                .setKeepAlive(options.isKeepAlive())
+                // Only used on epoll; lets a reconnect send its request in the SYN
+                .setTcpFastOpen(options.isNativeTransport())
+                .setMaxPoolSize(Math.max(1, options.getConnections() / threads))
+                .setMaxWaitQueueSize(-1));
+    RequestMix mix =
+        new RequestMix(
+            LoadOptions.builder()
+                .currencies(options.getCurrencies())
+                .tiers(options.getTiers())
+                .promoShare(options.getPromoShare())
+                .promoHitRatio(options.getPromoHitRatio())
+                .seed(options.getSeed() + index)
+                .build());
+
+    if (options.getMode() == Mode.CLOSED) {
+      int concurrency = options.getConcurrency();
+      int share = concurrency / threads + (index < concurrency % threads ? 1 : 0);
+      for (int i = 0; i < share; i++) {
+        closedLoop(client, mix);
+      }
+    } else {
+      double workerRps = (double) options.getRps() / threads;
+      long intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / workerRps);
+      // Stagger workers so they don't fire in lockstep
+      long firstSlot = startNanos + intervalNanos * index / threads;
+      Context context = vertx.getOrCreateContext();
+      // A parked thread hits slots far more precisely than a 1ms Vert.x timer would
+      Thread pacer =
+          new Thread(
+              () -> {
+                for (long slot = firstSlot; running; slot += intervalNanos) {
+                  long wait = slot - System.nanoTime();
+                  if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                  }
+                  // Send even if we're late - the wait since the slot is what gets measured
+                  long intendedNanos = slot;
+                  // In flight from here: a send still queued on the context has to hold up the
+                  // drain, or it records into the histograms while they're being reported
+                  inFlight.incrementAndGet();
+                  context.runOnContext(v -> send(client, mix, intendedNanos));
+                }
+              },
+              "load-pacer-" + index);
+      pacer.setDaemon(true);
+      pacer.start();
+    }
+  }
+
+  private void closedLoop(WebClient client, RequestMix mix) {
+    if (!running) {
+      return;
+    }
+    inFlight.incrementAndGet();
+    send(client, mix, System.nanoTime()).onComplete(ar -> closedLoop(client, mix));
+  }
+
+  /** Callers count the request in {@link #inFlight} first; {@link #record} counts it out. */
+  private Future<HttpResponse<Buffer>> send(WebClient client, RequestMix mix, long intendedNanos) {
+    long sentNanos = System.nanoTime();
+    return client
+        .post(options.getPort(), options.getHost(), options.getPath())
+        .putHeader("Content-Type", "application/json")
+        .sendBuffer(mix.next())
+        .onComplete(ar -> record(ar, intendedNanos, sentNanos));
+  }
+
+  private void record(AsyncResult<HttpResponse<Buffer>> ar, long intendedNanos, long sentNanos) {
+    // Counted before the in-flight decrement, so the final report never misses a request
+    if (intendedNanos >= measureFromNanos) {
+      long endNanos = System.nanoTime();
+      responseTimes.recordValue(TimeUnit.NANOSECONDS.toMicros(endNanos - intendedNanos));
+      serviceTimes.recordValue(TimeUnit.NANOSECONDS.toMicros(endNanos - sentNanos));
+      if (ar.succeeded() && ar.result().statusCode() == 200) {
+        succeeded.increment();
+      } else {
+        String reason =
+            ar.succeeded()
+                ? "HTTP " + ar.result().statusCode()
+                : ar.cause().getClass().getSimpleName();
+        failures.computeIfAbsent(reason, r -> new LongAdder()).increment();
+      }
+    }
+    inFlight.decrementAndGet();
+  }
+
+  private void report(PrintStream out) {
+    Histogram response = responseTimes.getIntervalHistogram();
+    Histogram service = serviceTimes.getIntervalHistogram();
+    double seconds = options.getDuration().toMillis() / 1000.0;
+    Map<String, Long> failed = new TreeMap<>();
+    failures.forEach((reason, count) -> failed.put(reason, count.sum()));
+    long failedCount = failed.values().stream().mapToLong(Long::longValue).sum();
+
+    out.println();
+    if (options.getMode() == Mode.CLOSED) {
+      out.printf("Mode:        closed loop, concurrency %d%n", options.getConcurrency());
+    } else {
+      out.printf("Mode:        open loop, target %d req/s%n", options.getRps());
+    }
+    out.printf(
+        "Setup:       %d thread(s), %d connection(s)%s, %ds measured after %ds warm-up%n",
+        options.getThreads(),
+        options.getConnections(),
+        options.isKeepAlive() ? "" : " opened per request",
+        options.getDuration().toSeconds(),
+        options.getWarmup().toSeconds());
+    long ok = succeeded.sum();
+    out.printf("Requests:    %d ok, %d failed %s%n", ok, failedCount, failed);
+    out.printf("Throughput:  %.1f req/s%n", response.getTotalCount() / seconds);
+    out.printf(
+        "Memory:      peak heap %.1f MB, %d GCs taking %d ms%s%n",
+        peakHeapBytes / (1024.0 * 1024.0),
+        gcCount,
+        gcMillis,
+        options.isEmbedded() ? " (service and generator)" : " (generator only)");
+    if (options.isEmbedded()) {
+      out.printf(
+          "Service:     %s%n", options.isVirtualThreads() ? "virtual threads" : "event loops");
+    }
+    out.printf("Transport:   %s%n", transport());
+    printLatency(out, "Response time (from intended start, CO-corrected)", response);
+    printLatency(out, "Service time (from actual send)", service);
+    if (options.isDistribution()) {
+      out.println();
+      out.println("Response time distribution (ms):");
+      response.outputPercentileDistribution(out, 1000.0);
+    }
+  }
+
+  // Embedded, the service's Vert.x asked for the same transport and loads it the same way
+  private String transport() {
+    if (vertx.isNativeTransportEnabled()) {
+      return "native";
+    }
+    if (!options.isNativeTransport()) {
+      return "NIO";
+    }
+    Throwable cause = vertx.unavailableNativeTransportCause();
+    return "NIO, native unavailable: "
+        + (cause != null ? cause.getMessage() : "not on the classpath");
+  }
+
+  private static void printLatency(PrintStream out, String title, Histogram histogram) {
+    out.println(title + ":");
+    out.printf(
+        "  p50 %.3f ms | p90 %.3f ms | p99 %.3f ms | p99.9 %.3f ms | max %.3f ms%n",
+        histogram.getValueAtPercentile(50) / 1000.0,
+        histogram.getValueAtPercentile(90) / 1000.0,
+        histogram.getValueAtPercentile(99) / 1000.0,
+        histogram.getValueAtPercentile(99.9) / 1000.0,
+        histogram.getMaxValue() / 1000.0);
+  }
+}
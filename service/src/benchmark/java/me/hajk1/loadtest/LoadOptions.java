@@ -0,0 +1,96 @@
+package me.hajk1.loadtest;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import lombok.Builder;
+import lombok.Value;
+
+/** Load generator settings, from {@code --key=value} arguments. */
+@Value
+@Builder
+class LoadOptions {
+
+  enum Mode {
+    /** Fixed number of outstanding requests; each sends the next as soon as it completes. */
+    CLOSED,
+    /** Fixed arrival rate, independent of how fast the service answers. */
+    OPEN
+  }
+
+  Mode mode;
+  int concurrency;
+  int rps;
+  int threads;
+  int connections;
+  boolean keepAlive;
+  Duration duration;
+  Duration warmup;
+  String host;
+  int port;
+  String path;
+  boolean embedded;
+  boolean virtualThreads;
+  boolean nativeTransport;
+  boolean distribution;
+
+  Map<String, Integer> currencies;
+  Map<String, Integer> tiers;
+  double promoShare;
+  double promoHitRatio;
+  long seed;
+
+  static LoadOptions parse(String[] args) {
+    Map<String, String> values = new HashMap<>();
+    for (String arg : args) {
+      if (!arg.startsWith("--")) {
+        throw new IllegalArgumentException("Expected --key=value, got: " + arg);
+      }
+      int eq = arg.indexOf('=');
+      if (eq < 0) {
+        values.put(arg.substring(2), "true");
+      } else {
+        values.put(arg.substring(2, eq), arg.substring(eq + 1));
+      }
+    }
+
+    Mode mode = Mode.valueOf(values.getOrDefault("mode", "closed").toUpperCase());
+    int concurrency = Integer.parseInt(values.getOrDefault("concurrency", "32"));
+    return LoadOptions.builder()
+        .mode(mode)
+        .concurrency(concurrency)
+        .rps(Integer.parseInt(values.getOrDefault("rps", "1000")))
+        .threads(Integer.parseInt(values.getOrDefault("threads", "1")))
+        .connections(
+            Integer.parseInt(
+                values.getOrDefault(
+                    "connections", String.valueOf(mode == Mode.CLOSED ? concurrency : 64))))
+        .keepAlive(Boolean.parseBoolean(values.getOrDefault("keepAlive", "true")))
+        .duration(Duration.ofSeconds(Long.parseLong(values.getOrDefault("duration", "30"))))
+        .warmup(Duration.ofSeconds(Long.parseLong(values.getOrDefault("warmup", "10"))))
+        .host(values.getOrDefault("host", "localhost"))
+        .port(Integer.parseInt(values.getOrDefault("port", "8080")))
+        .path(values.getOrDefault("path", "/v1/points/quote"))
+        .embedded(Boolean.parseBoolean(values.getOrDefault("embedded", "false")))
+        .virtualThreads(Boolean.parseBoolean(values.getOrDefault("virtualThreads", "false")))
+        .nativeTransport(Boolean.parseBoolean(values.getOrDefault("nativeTransport", "false")))
+        .distribution(Boolean.parseBoolean(values.getOrDefault("distribution", "false")))
+        .currencies(weights(values.getOrDefault("currencies", "USD:60,EUR:20,GBP:15,JPY:5")))
+        .tiers(weights(values.getOrDefault("tiers", "NONE:40,SILVER:30,GOLD:20,PLATINUM:10")))
+        .promoShare(Double.parseDouble(values.getOrDefault("promoShare", "0.5")))
+        .promoHitRatio(Double.parseDouble(values.getOrDefault("promoHitRatio", "0.8")))
+        .seed(Long.parseLong(values.getOrDefault("seed", "42")))
+        .build();
+  }
+
+  /** "USD:60,EUR:40" -> {USD=60, EUR=40} */
+  private static Map<String, Integer> weights(String spec) {
+    Map<String, Integer> weights = new LinkedHashMap<>();
+    for (String part : spec.split(",")) {
+      String[] kv = part.split(":");
+      weights.put(kv[0].trim(), kv.length > 1 ? Integer.parseInt(kv[1].trim()) : 1);
+    }
+    return weights;
+  }
+}
@@ -0,0 +1,64 @@
+package me.hajk1.loadtest;
+
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.JsonObject;
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.Random;
+import me.hajk1.domain.model.CabinClass;
+
+/**
+ * Pre-encoded quote bodies drawn from the configured mix, so the generator spends no time on JSON
+ * while measuring. Bodies are handed out round-robin.
+ */
+class RequestMix {
+
+  private static final int SIZE = 4096;
+
+  // Codes the demo promo mock knows; misses use a fixed pool so the negative cache sees repeats
+  private static final String[] KNOWN_PROMOS = {"SUMMER25", "WINTER50", "MEGA100"};
+  private static final int UNKNOWN_PROMOS = 100;
+
+  private final Buffer[] bodies = new Buffer[SIZE];
+  private int next;
+
+  RequestMix(LoadOptions options) {
+    Random random = new Random(options.getSeed());
+    CabinClass[] cabins = CabinClass.values();
+    for (int i = 0; i < SIZE; i++) {
+      JsonObject body =
+          new JsonObject()
+              .put("fareAmount", BigDecimal.valueOf(random.nextInt(5_000, 500_000), 2))
+              .put("currency", pick(options.getCurrencies(), random))
+              .put("cabinClass", cabins[random.nextInt(cabins.length)].name())
+              .put("customerTier", pick(options.getTiers(), random));
+      if (random.nextDouble() < options.getPromoShare()) {
+        body.put(
+            "promoCode",
+            random.nextDouble() < options.getPromoHitRatio()
+                ? KNOWN_PROMOS[random.nextInt(KNOWN_PROMOS.length)]
+                : "MISS" + random.nextInt(UNKNOWN_PROMOS));
+      }
+      bodies[i] = body.toBuffer();
+    }
+  }
+
+  /** Not thread-safe: each worker owns its own mix. */
+  Buffer next() {
+    Buffer body = bodies[next];
+    next = (next + 1) % SIZE;
+    return body;
+  }
+
+  private static String pick(Map<String, Integer> weights, Random random) {
+    int total = weights.values().stream().mapToInt(Integer::intValue).sum();
+    int roll = random.nextInt(total);
+    for (Map.Entry<String, Integer> entry : weights.entrySet()) {
+      roll -= entry.getValue();
+      if (roll < 0) {
+        return entry.getKey();
+      }
+    }
+    throw new IllegalStateException("unreachable");
+  }
+}
@@ -0,0 +1,288 @@
+package me.hajk1;
+
+import io.vertx.core.AbstractVerticle;
+import io.vertx.core.DeploymentOptions;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.ThreadingModel;
+import io.vertx.core.Vertx;
+import io.vertx.core.http.HttpServerOptions;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.web.Route;
+import io.vertx.ext.web.Router;
+import io.vertx.ext.web.client.WebClient;
+import io.vertx.ext.web.handler.BodyHandler;
+import lombok.extern.slf4j.Slf4j;
+import me.hajk1.domain.service.AwaitPointsCalculationService;
+import me.hajk1.domain.service.FxRateService;
+import me.hajk1.domain.service.PointsCalculationService;
+import me.hajk1.domain.service.PointsCalculationServiceImpl;
+import me.hajk1.domain.service.PromoService;
+import me.hajk1.infrastructure.cache.CachingFxRateService;
+import me.hajk1.infrastructure.cache.CachingPointsCalculationService;
+import me.hajk1.infrastructure.cache.CachingPromoService;
+import me.hajk1.infrastructure.cache.FxRateTableService;
+import me.hajk1.infrastructure.cache.QuoteInputVersions;
+import me.hajk1.infrastructure.cache.StaleFxRateService;
+import me.hajk1.infrastructure.client.BackoffPolicy;
+import me.hajk1.infrastructure.client.CoalescingFxRateService;
+import me.hajk1.infrastructure.client.FxRateTablePoller;
+import me.hajk1.infrastructure.client.HttpFxRateService;
+import me.hajk1.infrastructure.client.HttpPromoService;
+import me.hajk1.infrastructure.client.PoolUsage;
+import me.hajk1.infrastructure.config.HttpClientSettings;
+import me.hajk1.infrastructure.config.HttpServerSettings;
+import me.hajk1.infrastructure.config.JacksonConfig;
+import me.hajk1.infrastructure.config.SharedState;
+import me.hajk1.infrastructure.http.BatchPointsQuoteHandler;
+import me.hajk1.infrastructure.http.ConcurrencyLimitHandler;
+import me.hajk1.infrastructure.http.MetricsHandler;
+import me.hajk1.infrastructure.http.PointsQuoteHandler;
+import me.hajk1.infrastructure.http.RequestDeadlines;
+import me.hajk1.infrastructure.http.StreamingQuoteHandler;
+import me.hajk1.infrastructure.metrics.MetricsRegistry;
+import me.hajk1.infrastructure.metrics.QuoteStageMetrics;
+
+@Slf4j
+public class Application extends AbstractVerticle {
+
+  /**
+   * Deploys {@code http.instances} copies of the verticle (default: one per core). Vert.x spreads
+   * connections on the shared HTTP port across them, so each instance serves from its own event
+   * loop with its own web client and services; caches and metrics are shared via {@link
+   * SharedState}.
+   *
+   * <p>With {@code http.virtualThreads} the instances run on virtual threads instead (Java 21+),
+   * and quotes are computed by {@link AwaitPointsCalculationService}.
+   *
+   * <p>{@code http.nativeTransport} only takes effect if {@code vertx} was created with {@link
+   * HttpServerSettings#vertxOptions()}; if epoll couldn't load, this logs why and the service runs
+   * on NIO.
+   */
+  public static Future<String> deploy(Vertx vertx, JsonObject config) {
+    int instances = config.getInteger("http.instances", Runtime.getRuntime().availableProcessors());
+    ThreadingModel threading =
+        config.getBoolean("http.virtualThreads", false)
+            ? ThreadingModel.VIRTUAL_THREAD
+            : ThreadingModel.EVENT_LOOP;
+    if (HttpServerSettings.fromConfig(config).isNativeTransport()
+        && !vertx.isNativeTransportEnabled()) {
+      // No cause means Vert.x never found the native classes at all
+      Throwable cause = vertx.unavailableNativeTransportCause();
+      log.warn(
+          "Native transport unavailable, falling back to NIO: {}",
+          cause != null ? cause.getMessage() : "not on the classpath");
+    }
+    log.info(
+        "Deploying {} verticle instance(s) on {}, {} transport",
+        instances,
+        threading,
+        vertx.isNativeTransportEnabled() ? "native" : "NIO");
+    // Deprecated in 4.5.0, but the only way Vert.x 4 has to ask for virtual threads
+    @SuppressWarnings("deprecation")
+    DeploymentOptions options =
+        new DeploymentOptions()
+            .setConfig(config)
+            .setInstances(instances)
+            .setThreadingModel(threading);
+    return vertx.deployVerticle(Application::new, options);
+  }
+
+  @Override
+  public void start(Promise<Void> startPromise) {
+    // Configure Jackson first - this is important!
+    // Without this, Instant deserialization fails
+    JacksonConfig.configure();
+
+    JsonObject config = config();
+    SharedState shared = SharedState.get(vertx, config);
+    MetricsRegistry metrics = shared.getMetrics();
+
+    // One client per dependency (bulkheads): a slow promo service can only fill the promo pool
+    HttpClientSettings fxHttp = HttpClientSettings.fromConfig(config, "fx");
+    HttpClientSettings promoHttp = HttpClientSettings.fromConfig(config, "promo");
+
+    // Create services
+    WebClient fxClient = WebClient.wrap(fxHttp.createClient(vertx));
+    FxRateService fxService =
+        HttpFxRateService.builder()
+            .vertx(vertx)
+            .webClient(fxClient)
+            .baseUrl(config.getString("fx.service.url"))
+            .timeoutMs(config.getLong("fx.timeout.ms", 2000L)) // per attempt
+            .maxAttempts(config.getInteger("fx.retry.maxAttempts", 3)) // 3 total attempts
+            .backoff(
+                BackoffPolicy.builder()
+                    .initialDelayMs(config.getLong("fx.retry.backoff.initial.ms", 50L))
+                    .maxDelayMs(config.getLong("fx.retry.backoff.max.ms", 1000L))
+                    .multiplier(config.getDouble("fx.retry.backoff.multiplier", 2.0))
+                    .build())
+            .retryBudget(shared.getFxRetryBudget())
+            .circuitBreaker(shared.getFxCircuitBreaker())
+            .poolUsage(new PoolUsage("fx", fxHttp.concurrentRequests(), metrics))
+            .metrics(metrics)
+            .build();
+
+    // Quotes get the caller's deadline header, capped at this; FX and promo spend what's left
+    RequestDeadlines deadlines = new RequestDeadlines(config.getLong("quote.deadline.ms", 5000L));
+
+    // Coalesce below the cache so refresh-ahead reloads and misses share one upstream call,
+    // made on the server's default budget rather than any one caller's
+    fxService =
+        new CoalescingFxRateService(vertx, fxService, deadlines::serverDefault, metrics);
+
+    if (config.getBoolean("fx.cache.enabled", true)) {
+      fxService =
+          new CachingFxRateService(
+              fxService,
+              shared.getFxCache(),
+              config.getLong("fx.cache.ttl.ms", 60_000L),
+              config.getLong("fx.cache.refreshAhead.ms", 10_000L),
+              metrics);
+    }
+
+    // Cached quotes are checked against the FX rates and promos seen since they were computed
+    boolean quoteCache = config.getBoolean("quote.cache.enabled", false);
+    QuoteInputVersions quoteInputs = shared.getQuoteInputs();
+
+    // Quotes read the polled table; the per-pair chain above only serves what it's missing
+    Promise<Void> fxReady = Promise.promise();
+    if (config.getBoolean("fx.table.enabled", false)) {
+      FxRateTablePoller poller =
+          shared.fxRateTablePoller(
+              () ->
+                  FxRateTablePoller.builder()
+                      .vertx(vertx)
+                      .webClient(fxClient)
+                      .baseUrl(config.getString("fx.service.url"))
+                      .target(PointsCalculationServiceImpl.TARGET_CURRENCY)
+                      .intervalMs(config.getLong("fx.table.poll.ms", 30_000L))
+                      .timeoutMs(config.getLong("fx.table.timeout.ms", 2_000L))
+                      .onPublish(quoteCache ? quoteInputs::fxRateTable : null)
+                      .metrics(metrics)
+                      .build());
+      fxService =
+          new FxRateTableService(
+              poller::current,
+              fxService,
+              config.getLong("fx.table.staleAfter.ms", 90_000L),
+              config.getLong("fx.table.maxAge.ms", 300_000L),
+              metrics);
+      // Don't take traffic before the first table (it may belong to another instance's loop)
+      poller.firstPoll().onComplete(ar -> context.runOnContext(v -> fxReady.complete()));
+    } else {
+      fxReady.complete();
+    }
+
+    // Last resort before a 500: the last good rate, with a STALE_FX_RATE warning
+    if (config.getBoolean("fx.stale.enabled", true)) {
+      fxService =
+          StaleFxRateService.builder()
+              .vertx(vertx)
+              .delegate(fxService)
+              .lastGood(shared.getFxLastGood())
+              .maxStaleMs(config.getLong("fx.stale.maxAge.ms", 900_000L))
+              .serveStaleAfterMs(config.getLong("fx.stale.serveAfter.ms", 500L))
+              .revalidateMs(config.getLong("fx.stale.revalidate.ms", 5_000L))
+              .metrics(metrics)
+              .build();
+    }
+
+    // Promo goes through the core HttpClient so losing hedge requests can be reset
+    PromoService promoService =
+        HttpPromoService.builder()
+            .vertx(vertx)
+            .httpClient(promoHttp.createClient(vertx))
+            .baseUrl(config.getString("promo.service.url"))
+            .timeoutMs(config.getLong("promo.timeout.ms", 2000L))
+            .circuitBreaker(shared.getPromoCircuitBreaker())
+            .poolUsage(new PoolUsage("promo", promoHttp.concurrentRequests(), metrics))
+            .hedging(config.getBoolean("promo.hedge.enabled", false))
+            .hedgePercentile(config.getDouble("promo.hedge.percentile", 95.0))
+            .hedgeMinDelayMs(config.getLong("promo.hedge.minDelay.ms", 5L))
+            .hedgeMinSamples(config.getLong("promo.hedge.minSamples", 100L))
+            .hedgeRefreshMs(config.getLong("promo.hedge.refresh.ms", 1000L))
+            .hedgeBudget(shared.getPromoHedgeBudget())
+            .metrics(metrics)
+            .build();
+
+    if (config.getBoolean("promo.cache.enabled", true)) {
+      promoService =
+          new CachingPromoService(
+              promoService,
+              shared.getPromoCache(),
+              config.getLong("promo.cache.ttl.ms", 300_000L),
+              config.getLong("promo.cache.negativeTtl.ms", 30_000L),
+              metrics);
+    }
+
+    if (quoteCache) {
+      fxService = quoteInputs.track(fxService);
+      promoService = quoteInputs.track(promoService);
+    }
+
+    QuoteStageMetrics quoteMetrics = new QuoteStageMetrics(metrics);
+    // On virtual threads the quote can simply await its lookups; same lookups, same math
+    PointsCalculationService calculationService =
+        context.threadingModel() == ThreadingModel.VIRTUAL_THREAD
+            ? new AwaitPointsCalculationService(fxService, promoService, quoteMetrics)
+            : new PointsCalculationServiceImpl(fxService, promoService, quoteMetrics);
+
+    // Repeated identical quotes skip both lookups and the points math
+    if (quoteCache) {
+      calculationService =
+          new CachingPointsCalculationService(
+              calculationService,
+              shared.getQuoteCache(),
+              config.getLong("quote.cache.ttl.ms", 10_000L),
+              quoteInputs,
+              metrics);
+    }
+
+    // Create router
+    // BodyHandler buffers whole bodies, so it is only installed on the non-streaming routes
+    Router router = Router.router(vertx);
+    BodyHandler bodyHandler = BodyHandler.create();
+    Route quoteRoute = router.post("/v1/points/quote");
+    // Shed before reading the body: an overloaded server shouldn't buffer work it will refuse
+    if (config.getBoolean("quote.limit.enabled", true)) {
+      quoteRoute.handler(
+          new ConcurrencyLimitHandler(
+              shared.getQuoteLimiter(),
+              config.getLong("quote.limit.retryAfter.s", 1L),
+              quoteMetrics));
+    }
+    quoteRoute
+        .handler(bodyHandler)
+        .handler(new PointsQuoteHandler(calculationService, quoteMetrics, deadlines));
+    router
+        .post("/v1/points/quote/batch")
+        .handler(bodyHandler)
+        .handler(
+            new BatchPointsQuoteHandler(
+                calculationService, config.getInteger("batch.maxSize", 500), deadlines));
+    router
+        .post("/v1/points/quote/stream")
+        .handler(
+            new StreamingQuoteHandler(
+                calculationService, config.getInteger("stream.maxInFlight", 64), deadlines));
+    router.get("/metrics").handler(new MetricsHandler(metrics));
+
+    // Start server
+    int port = config.getInteger("http.port", 8080);
+    HttpServerOptions serverOptions = HttpServerSettings.fromConfig(config).serverOptions(vertx);
+    fxReady
+        .future()
+        .compose(v -> vertx.createHttpServer(serverOptions).requestHandler(router).listen(port))
+        .onSuccess(
+            server -> {
+              log.info("Server started on port {}", server.actualPort());
+              startPromise.complete();
+            })
+        .onFailure(
+            ex -> {
+              log.error("Failed to start server", ex);
+              startPromise.fail(ex);
+            });
+  }
+}
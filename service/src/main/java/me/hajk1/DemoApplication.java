@@ -4,14 +4,35 @@ import io.vertx.core.Vertx;
 import io.vertx.core.json.JsonObject;
 import io.vertx.ext.web.Router;
 import io.vertx.ext.web.handler.BodyHandler;
+import java.util.Map;
 import lombok.extern.slf4j.Slf4j;
+import me.hajk1.infrastructure.config.HttpServerSettings;
 import me.hajk1.infrastructure.config.JacksonConfig;
 
 @Slf4j
 public class DemoApplication {
 
+  // Mock FX rates into AED; anything else converts at 1.0
+  private static final Map<String, Double> MOCK_FX_RATES =
+      Map.of("USD", 3.67, "EUR", 4.05, "GBP", 4.73, "JPY", 0.025);
+
   public static void main(String[] args) {
-    Vertx vertx = Vertx.vertx();
+    JsonObject config =
+        new JsonObject()
+            .put("http.port", 8080)
+            .put("fx.service.url", "http://localhost:9090")
+            .put("promo.service.url", "http://localhost:9091")
+            .put("fx.retry.maxAttempts", 3)
+            .put("promo.timeout.ms", 2000)
+            .put("fx.table.enabled", true)
+            .put("http.virtualThreads", Boolean.getBoolean("demo.virtualThreads"))
+            .put("http.nativeTransport", Boolean.getBoolean("demo.nativeTransport"))
+            .put(
+                "http.instances",
+                Integer.getInteger("demo.instances", Runtime.getRuntime().availableProcessors()));
+
+    // The transport is fixed when Vert.x is created, so it's read from the config up front
+    Vertx vertx = Vertx.vertx(HttpServerSettings.fromConfig(config).vertxOptions());
 
     // Configure Jackson
     JacksonConfig.configure();
@@ -29,17 +50,7 @@ public class DemoApplication {
         500,
         id -> {
           // Start main application
-          JsonObject config =
-              new JsonObject()
-                  .put("http.port", 8080)
-                  .put("fx.service.url", "http://localhost:9090")
-                  .put("promo.service.url", "http://localhost:9091")
-                  .put("fx.retry.maxAttempts", 3)
-                  .put("promo.timeout.ms", 2000);
-
-          vertx
-              .deployVerticle(
-                  new Application(), new io.vertx.core.DeploymentOptions().setConfig(config))
+          Application.deploy(vertx, config)
               .onSuccess(
                   deploymentId -> {
                     log.info("✅ Loyalty Points Service started on http://localhost:8080");
@@ -68,14 +79,7 @@ public class DemoApplication {
               log.info("📞 FX Service: {} -> {}", from, to);
 
               // Mock FX rates
-              double rate =
-                  switch (from) {
-                    case "USD" -> 3.67;
-                    case "EUR" -> 4.05;
-                    case "GBP" -> 4.73;
-                    case "JPY" -> 0.025;
-                    default -> 1.0;
-                  };
+              double rate = MOCK_FX_RATES.getOrDefault(from, 1.0);
 
               ctx.response()
                   .putHeader("Content-Type", "application/json")
@@ -86,6 +90,23 @@ public class DemoApplication {
                           .encode());
             });
 
+    // Bulk endpoint for fx.table.enabled: every rate into one target currency
+    router
+        .get("/fx/rates/table")
+        .handler(
+            ctx -> {
+              log.info("📞 FX Service: rate table -> {}", ctx.request().getParam("to"));
+
+              ctx.response()
+                  .putHeader("Content-Type", "application/json")
+                  .end(
+                      new JsonObject()
+                          .put("to", ctx.request().getParam("to"))
+                          .put("rates", new JsonObject(Map.copyOf(MOCK_FX_RATES)))
+                          .put("timestamp", "2025-12-03T10:00:00Z")
+                          .encode());
+            });
+
     vertx
         .createHttpServer()
         .requestHandler(router)
@@ -0,0 +1,19 @@
+package me.hajk1.codegen;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Generates {@code <Type>JsonCodec} next to a Lombok {@code @Value @Builder} class, with static
+ * {@code decode(Buffer)} and {@code encode(value)} that stream fields straight between the model
+ * and a Vert.x {@code Buffer} - no {@code JsonObject} in between and no reflection.
+ *
+ * <p>Follows what our Jackson setup does for the same class: JSON names are the field names (or
+ * {@code @JsonProperty}), unknown properties are skipped, enums go by name, {@code BigDecimal}
+ * keeps the exact digits sent. See {@link JsonCodecSupport} for the supported field types.
+ */
+@Retention(RetentionPolicy.SOURCE)
+@Target(ElementType.TYPE)
+public @interface JsonCodec {}
@@ -0,0 +1,343 @@
+package me.hajk1.codegen;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufInputStream;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.DecodeException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Runtime side of {@link JsonCodec}: parser/generator plumbing plus one reader and writer per
+ * supported field type - {@code int}, {@code long}, {@code double}, {@code boolean} (and their
+ * boxes), {@code String}, {@code BigDecimal}, enums and {@code List<String>}.
+ *
+ * <p>Readers accept what Jackson's defaults accept (numbers for strings, numeric strings for
+ * numbers, enum ordinals) so switching a model to a generated codec doesn't change which requests
+ * we take. A value of the wrong shape fails with {@link IllegalArgumentException}, as {@code
+ * JsonObject.mapTo} does; broken JSON fails with {@link DecodeException}.
+ */
+public final class JsonCodecSupport {
+
+  // Thread-safe; field names are interned in its symbol table, so they don't allocate per parse
+  private static final JsonFactory JSON = new JsonFactory();
+
+  private JsonCodecSupport() {}
+
+  @SuppressWarnings("deprecation") // getByteBuf has no replacement until Vert.x 5
+  public static JsonParser parser(Buffer body) throws IOException {
+    if (body == null) {
+      throw new DecodeException("Empty body");
+    }
+    ByteBuf bytes = body.getByteBuf();
+    // Request and response bodies are heap buffers, so this reads the backing array in place
+    if (bytes.hasArray()) {
+      return JSON.createParser(
+          bytes.array(), bytes.arrayOffset() + bytes.readerIndex(), bytes.readableBytes());
+    }
+    return JSON.createParser((InputStream) new ByteBufInputStream(bytes));
+  }
+
+  /** Moves the parser onto the opening brace of a top-level object. */
+  public static void startObject(JsonParser parser) throws IOException {
+    if (parser.nextToken() != JsonToken.START_OBJECT) {
+      throw new DecodeException("Expected a JSON object");
+    }
+  }
+
+  /** Rejects anything after the top-level value, as {@code JsonObject} decoding does. */
+  public static void endOfInput(JsonParser parser) throws IOException {
+    if (parser.nextToken() != null) {
+      throw new DecodeException("Unexpected trailing token");
+    }
+  }
+
+  /** A generator appending to {@code out}; closing it flushes. */
+  public static JsonGenerator generator(Buffer out) throws IOException {
+    return JSON.createGenerator(new BufferOutputStream(out));
+  }
+
+  public static String readString(JsonParser parser) throws IOException {
+    JsonToken token = parser.currentToken();
+    if (token == JsonToken.VALUE_NULL) {
+      return null;
+    }
+    if (token.isScalarValue()) {
+      return parser.getText();
+    }
+    throw mismatch(parser, "String");
+  }
+
+  public static BigDecimal readBigDecimal(JsonParser parser) throws IOException {
+    JsonToken token = parser.currentToken();
+    if (token == JsonToken.VALUE_NUMBER_INT || token == JsonToken.VALUE_NUMBER_FLOAT) {
+      // Straight from the digits, so 1234.50 stays 1234.50 (a JsonObject went through double)
+      return parser.getDecimalValue();
+    }
+    if (token == JsonToken.VALUE_NULL) {
+      return null;
+    }
+    if (token == JsonToken.VALUE_STRING) {
+      String text = parser.getText().trim();
+      if (text.isEmpty()) {
+        return null;
+      }
+      try {
+        return new BigDecimal(text);
+      } catch (NumberFormatException e) {
+        throw mismatch(parser, "BigDecimal");
+      }
+    }
+    throw mismatch(parser, "BigDecimal");
+  }
+
+  public static Integer readInteger(JsonParser parser) throws IOException {
+    Long value = readLongValue(parser, "int");
+    if (value == null) {
+      return null;
+    }
+    if (value != value.intValue()) {
+      throw mismatch(parser, "int");
+    }
+    return value.intValue();
+  }
+
+  public static int readInt(JsonParser parser) throws IOException {
+    Integer value = readInteger(parser);
+    return value == null ? 0 : value;
+  }
+
+  public static Long readLongObject(JsonParser parser) throws IOException {
+    return readLongValue(parser, "long");
+  }
+
+  public static long readLong(JsonParser parser) throws IOException {
+    Long value = readLongValue(parser, "long");
+    return value == null ? 0L : value;
+  }
+
+  public static Double readDoubleObject(JsonParser parser) throws IOException {
+    JsonToken token = parser.currentToken();
+    if (token == JsonToken.VALUE_NUMBER_INT || token == JsonToken.VALUE_NUMBER_FLOAT) {
+      return parser.getDoubleValue();
+    }
+    if (token == JsonToken.VALUE_NULL) {
+      return null;
+    }
+    if (token == JsonToken.VALUE_STRING) {
+      String text = parser.getText().trim();
+      if (text.isEmpty()) {
+        return null;
+      }
+      try {
+        return Double.valueOf(text);
+      } catch (NumberFormatException e) {
+        throw mismatch(parser, "double");
+      }
+    }
+    throw mismatch(parser, "double");
+  }
+
+  public static double readDouble(JsonParser parser) throws IOException {
+    Double value = readDoubleObject(parser);
+    return value == null ? 0.0 : value;
+  }
+
+  public static Boolean readBooleanObject(JsonParser parser) throws IOException {
+    JsonToken token = parser.currentToken();
+    if (token == JsonToken.VALUE_TRUE || token == JsonToken.VALUE_FALSE) {
+      return token == JsonToken.VALUE_TRUE;
+    }
+    if (token == JsonToken.VALUE_NULL) {
+      return null;
+    }
+    if (token == JsonToken.VALUE_STRING) {
+      String text = parser.getText().trim();
+      if (text.isEmpty()) {
+        return null;
+      }
+      if ("true".equals(text) || "false".equals(text)) {
+        return Boolean.valueOf(text);
+      }
+    }
+    throw mismatch(parser, "boolean");
+  }
+
+  public static boolean readBoolean(JsonParser parser) throws IOException {
+    Boolean value = readBooleanObject(parser);
+    return value != null && value;
+  }
+
+  /** By name, or by ordinal for an integer - both accepted by Jackson's defaults. */
+  public static <E extends Enum<E>> E readEnum(JsonParser parser, E[] values) throws IOException {
+    JsonToken token = parser.currentToken();
+    if (token == JsonToken.VALUE_NULL) {
+      return null;
+    }
+    if (token == JsonToken.VALUE_STRING) {
+      String name = parser.getText();
+      for (E value : values) {
+        if (value.name().equals(name)) {
+          return value;
+        }
+      }
+    } else if (token == JsonToken.VALUE_NUMBER_INT) {
+      int ordinal = parser.getIntValue();
+      if (ordinal >= 0 && ordinal < values.length) {
+        return values[ordinal];
+      }
+    }
+    throw mismatch(parser, values.getClass().getComponentType().getSimpleName());
+  }
+
+  public static List<String> readStringList(JsonParser parser) throws IOException {
+    JsonToken token = parser.currentToken();
+    if (token == JsonToken.VALUE_NULL) {
+      return null;
+    }
+    if (token != JsonToken.START_ARRAY) {
+      throw mismatch(parser, "List<String>");
+    }
+    List<String> values = new ArrayList<>();
+    while (parser.nextToken() != JsonToken.END_ARRAY) {
+      values.add(readString(parser));
+    }
+    return values;
+  }
+
+  public static void writeString(JsonGenerator generator, String value) throws IOException {
+    if (value == null) {
+      generator.writeNull();
+    } else {
+      generator.writeString(value);
+    }
+  }
+
+  public static void writeBigDecimal(JsonGenerator generator, BigDecimal value)
+      throws IOException {
+    if (value == null) {
+      generator.writeNull();
+    } else {
+      generator.writeNumber(value);
+    }
+  }
+
+  public static void writeInteger(JsonGenerator generator, Integer value) throws IOException {
+    if (value == null) {
+      generator.writeNull();
+    } else {
+      generator.writeNumber(value);
+    }
+  }
+
+  public static void writeLong(JsonGenerator generator, Long value) throws IOException {
+    if (value == null) {
+      generator.writeNull();
+    } else {
+      generator.writeNumber(value);
+    }
+  }
+
+  public static void writeDouble(JsonGenerator generator, Double value) throws IOException {
+    if (value == null) {
+      generator.writeNull();
+    } else {
+      // NaN and infinities come out quoted, as with Jackson's defaults
+      generator.writeNumber(value);
+    }
+  }
+
+  public static void writeBoolean(JsonGenerator generator, Boolean value) throws IOException {
+    if (value == null) {
+      generator.writeNull();
+    } else {
+      generator.writeBoolean(value);
+    }
+  }
+
+  public static void writeEnum(JsonGenerator generator, Enum<?> value) throws IOException {
+    writeString(generator, value == null ? null : value.name());
+  }
+
+  public static void writeStringList(JsonGenerator generator, List<String> values)
+      throws IOException {
+    if (values == null) {
+      generator.writeNull();
+      return;
+    }
+    generator.writeStartArray();
+    for (String value : values) {
+      writeString(generator, value);
+    }
+    generator.writeEndArray();
+  }
+
+  public static DecodeException decodeFailure(IOException e) {
+    return new DecodeException("Failed to decode: " + e.getMessage(), e);
+  }
+
+  private static Long readLongValue(JsonParser parser, String type) throws IOException {
+    JsonToken token = parser.currentToken();
+    if (token == JsonToken.VALUE_NUMBER_INT) {
+      return parser.getLongValue();
+    }
+    if (token == JsonToken.VALUE_NUMBER_FLOAT) {
+      // Jackson truncates floats into integer fields by default
+      return parser.getValueAsLong();
+    }
+    if (token == JsonToken.VALUE_NULL) {
+      return null;
+    }
+    if (token == JsonToken.VALUE_STRING) {
+      String text = parser.getText().trim();
+      if (text.isEmpty()) {
+        return null;
+      }
+      try {
+        return Long.valueOf(text);
+      } catch (NumberFormatException e) {
+        throw mismatch(parser, type);
+      }
+    }
+    throw mismatch(parser, type);
+  }
+
+  private static IllegalArgumentException mismatch(JsonParser parser, String type)
+      throws IOException {
+    return new IllegalArgumentException(
+        "Cannot deserialize value of type `"
+            + type
+            + "` from "
+            + parser.currentToken()
+            + " at field \""
+            + parser.currentName()
+            + "\"");
+  }
+
+  /** Lets Jackson flush its internal buffer straight into a Vert.x Buffer. */
+  private static final class BufferOutputStream extends OutputStream {
+    private final Buffer out;
+
+    BufferOutputStream(Buffer out) {
+      this.out = out;
+    }
+
+    @Override
+    public void write(int b) {
+      out.appendByte((byte) b);
+    }
+
+    @Override
+    public void write(byte[] bytes, int offset, int length) {
+      out.appendBytes(bytes, offset, length);
+    }
+  }
+}
@@ -0,0 +1,9 @@
+package me.hajk1.domain.model;
+
+import lombok.Value;
+
+@Value
+public class CurrencyPair {
+  String from;
+  String to;
+}
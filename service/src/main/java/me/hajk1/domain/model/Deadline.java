@@ -0,0 +1,48 @@
+package me.hajk1.domain.model;
+
+import java.util.concurrent.TimeUnit;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Value;
+
+/**
+ * When a quote has to be answered by, on the {@link System#nanoTime} clock. It travels with the
+ * quote down to the FX and promo clients, so their timeouts and retries only spend what is left.
+ * {@link #NONE} has no limit - for callers with nobody waiting, like background refreshes.
+ */
+@Value
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class Deadline {
+
+  public static final Deadline NONE = new Deadline(false, 0);
+
+  boolean bounded;
+  long expiresAtNanos;
+
+  public static Deadline afterMs(long timeoutMs) {
+    // Capped so the nanoTime difference can't overflow; that still leaves over a century
+    long timeoutNanos = Math.min(TimeUnit.MILLISECONDS.toNanos(timeoutMs), Long.MAX_VALUE / 2);
+    return new Deadline(true, System.nanoTime() + timeoutNanos);
+  }
+
+  public boolean isExpired() {
+    return bounded && expiresAtNanos - System.nanoTime() <= 0;
+  }
+
+  /**
+   * Whole milliseconds left, rounded up so it is only 0 once expired - a 0 timeout means "none"
+   * to Vert.x. {@link Long#MAX_VALUE} for {@link #NONE}.
+   */
+  public long remainingMs() {
+    if (!bounded) {
+      return Long.MAX_VALUE;
+    }
+    long leftNanos = expiresAtNanos - System.nanoTime();
+    return leftNanos <= 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(leftNanos + 999_999);
+  }
+
+  /** {@code timeoutMs}, or less if the deadline comes first. */
+  public long cap(long timeoutMs) {
+    return Math.min(timeoutMs, remainingMs());
+  }
+}
@@ -0,0 +1,18 @@
+package me.hajk1.domain.model;
+
+import lombok.Value;
+
+/** An FX rate as the quote gets it: either fresh, or a last-known-good rate served stale. */
+@Value
+public class FxRate {
+  double rate;
+  boolean stale;
+
+  public static FxRate fresh(double rate) {
+    return new FxRate(rate, false);
+  }
+
+  public static FxRate stale(double rate) {
+    return new FxRate(rate, true);
+  }
+}
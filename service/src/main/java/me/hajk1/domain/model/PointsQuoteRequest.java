@@ -0,0 +1,41 @@
+package me.hajk1.domain.model;
+
+import java.math.BigDecimal;
+import lombok.Builder;
+import lombok.Value;
+import lombok.extern.jackson.Jacksonized;
+import me.hajk1.codegen.JsonCodec;
+import me.hajk1.domain.service.ValidationError;
+
+@Value
+@Builder
+@Jacksonized
+@JsonCodec
+public class PointsQuoteRequest {
+  BigDecimal fareAmount;
+  String currency;
+  CabinClass cabinClass;
+  CustomerTier customerTier;
+  String promoCode;
+
+  public void validate() {
+    ValidationError error = validationError();
+    if (error != null) {
+      throw error.exception();
+    }
+  }
+
+  /** The first problem with this request, or null if it can be quoted. */
+  public ValidationError validationError() {
+    if (fareAmount == null || fareAmount.signum() <= 0) {
+      return ValidationError.FARE_NOT_POSITIVE;
+    }
+    if (currency == null || currency.isBlank()) {
+      return ValidationError.CURRENCY_REQUIRED;
+    }
+    if (cabinClass == null) {
+      return ValidationError.CABIN_CLASS_REQUIRED;
+    }
+    return null;
+  }
+}
@@ -4,10 +4,12 @@ import java.util.List;
 import lombok.Builder;
 import lombok.Value;
 import lombok.extern.jackson.Jacksonized;
+import me.hajk1.codegen.JsonCodec;
 
 @Value
 @Builder
 @Jacksonized
+@JsonCodec
 public class PointsQuoteResponse {
   int basePoints;
   int tierBonus;
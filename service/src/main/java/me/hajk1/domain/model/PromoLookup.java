@@ -0,0 +1,44 @@
+package me.hajk1.domain.model;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Value;
+
+/**
+ * Outcome of a promo lookup: found, not found, or failed. Unknown codes are the common case under
+ * bad traffic, so they come back as a shared value instead of a failed future - no exception and
+ * no allocation.
+ */
+@Value
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class PromoLookup {
+
+  private static final PromoLookup NOT_FOUND = new PromoLookup(Status.NOT_FOUND, null, null);
+
+  public enum Status {
+    FOUND,
+    NOT_FOUND,
+    ERROR
+  }
+
+  Status status;
+  PromoDetails details;
+  Throwable error;
+
+  public static PromoLookup found(PromoDetails details) {
+    return new PromoLookup(Status.FOUND, details, null);
+  }
+
+  public static PromoLookup notFound() {
+    return NOT_FOUND;
+  }
+
+  /** The promo service failed or timed out; {@code error} is only there for logging. */
+  public static PromoLookup error(Throwable error) {
+    return new PromoLookup(Status.ERROR, null, error);
+  }
+
+  public boolean isFound() {
+    return status == Status.FOUND;
+  }
+}
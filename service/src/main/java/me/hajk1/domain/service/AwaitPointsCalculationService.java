@@ -0,0 +1,100 @@
+package me.hajk1.domain.service;
+
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import me.hajk1.domain.model.Deadline;
+import me.hajk1.domain.model.FxRate;
+import me.hajk1.domain.model.PointsQuoteRequest;
+import me.hajk1.domain.model.PointsQuoteResponse;
+import me.hajk1.domain.model.PromoDetails;
+
+/**
+ * The quote pipeline as straight-line code, for verticles deployed on virtual threads: lookups are
+ * started as futures and then {@link Future#await awaited}, which parks the virtual thread instead
+ * of chaining callbacks. Validation, lookups, stage metrics and the points math are the ones of
+ * {@link PointsCalculationServiceImpl}; only the sequencing differs.
+ *
+ * <p>{@code Future.await} only works on a virtual-thread context ({@code
+ * ThreadingModel.VIRTUAL_THREAD}, Java 21+), so {@code Application} picks this class only there.
+ */
+public class AwaitPointsCalculationService extends PointsCalculationServiceImpl {
+
+  public AwaitPointsCalculationService(
+      FxRateService fxRateService, PromoService promoService, QuoteMetrics metrics) {
+    super(fxRateService, promoService, metrics);
+  }
+
+  @Override
+  public Future<PointsQuoteResponse> calculatePoints(
+      PointsQuoteRequest request, Deadline deadline) {
+    ValidationError invalid = validate(request);
+    if (invalid != null) {
+      return Future.failedFuture(invalid.exception());
+    }
+    if (deadline.isExpired()) {
+      return Future.failedFuture(new DeadlineExceededException("quote"));
+    }
+
+    // Both lookups are in flight before we park on either
+    Future<PromoDetails> promo = lookupPromo(request.getPromoCode(), deadline);
+    Future<FxRate> fx = lookupRate(request.getCurrency(), deadline);
+    return async(() -> price(request, Future.await(fx), Future.await(promo)));
+  }
+
+  @Override
+  public List<Future<PointsQuoteResponse>> calculateBatch(
+      List<PointsQuoteRequest> requests, Deadline deadline) {
+    // Start every distinct lookup up front, then price each quote as its lookups come in
+    Map<String, Future<FxRate>> fxRates = new HashMap<>();
+    Map<String, Future<PromoDetails>> promos = new HashMap<>();
+    List<Future<PointsQuoteResponse>> results = new ArrayList<>(requests.size());
+    for (PointsQuoteRequest request : requests) {
+      ValidationError invalid = validate(request);
+      if (invalid != null) {
+        results.add(Future.failedFuture(invalid.exception()));
+        continue;
+      }
+      if (deadline.isExpired()) {
+        results.add(Future.failedFuture(new DeadlineExceededException("quote")));
+        continue;
+      }
+
+      Future<FxRate> fx =
+          fxRates.computeIfAbsent(
+              request.getCurrency(), currency -> lookupRate(currency, deadline));
+      Future<PromoDetails> promo =
+          hasPromoCode(request.getPromoCode())
+              ? promos.computeIfAbsent(request.getPromoCode(), code -> lookupPromo(code, deadline))
+              : Future.succeededFuture();
+      results.add(async(() -> price(request, Future.await(fx), Future.await(promo))));
+    }
+    return results;
+  }
+
+  /**
+   * Runs {@code quote} as a task of its own on the current virtual-thread context. Parking the
+   * caller instead would let other events run in the middle of its callback - a stream's end
+   * handler, say, while the record parser is still handing out records from the same buffer.
+   */
+  private static <T> Future<T> async(Callable<T> quote) {
+    Promise<T> result = Promise.promise();
+    Vertx.currentContext()
+        .runOnContext(
+            v -> {
+              try {
+                result.complete(quote.call());
+              } catch (Throwable t) {
+                // await rethrows a failed lookup as is, and Future.failedFuture(String) makes a
+                // bare Throwable; only FX fails, promo errors are "no promo"
+                result.fail(t);
+              }
+            });
+    return result.future();
+  }
+}
@@ -0,0 +1,11 @@
+package me.hajk1.domain.service;
+
+/**
+ * The quote's deadline passed before {@code dependency} answered. Skips the stack trace like
+ * {@link ValidationException}: when a deadline is too tight these come in bursts.
+ */
+public class DeadlineExceededException extends RuntimeException {
+  public DeadlineExceededException(String dependency) {
+    super("Deadline exceeded waiting for " + dependency, null, false, false);
+  }
+}
@@ -0,0 +1,25 @@
+package me.hajk1.domain.service;
+
+import io.vertx.core.Future;
+import me.hajk1.domain.model.Deadline;
+import me.hajk1.domain.model.FxRate;
+
+public interface FxRateService {
+  Future<Double> getRate(String fromCurrency, String toCurrency);
+
+  /**
+   * The rate plus whether it is a stale fallback. The quote path uses this; only an
+   * implementation that can serve stale rates needs to override it.
+   */
+  default Future<FxRate> lookup(String fromCurrency, String toCurrency) {
+    return getRate(fromCurrency, toCurrency).map(FxRate::fresh);
+  }
+
+  /**
+   * {@link #lookup(String, String)} for a quote that has to be answered by {@code deadline}.
+   * Clients doing I/O spend only what is left of it; decorators pass it on.
+   */
+  default Future<FxRate> lookup(String fromCurrency, String toCurrency, Deadline deadline) {
+    return lookup(fromCurrency, toCurrency);
+  }
+}
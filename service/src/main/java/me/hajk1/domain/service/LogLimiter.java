@@ -0,0 +1,57 @@
+package me.hajk1.domain.service;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Caps one log statement at {@code permits} lines per interval. A flood of identical failures
+ * (a promo outage, a client sending garbage) would otherwise spend more time formatting and
+ * writing log lines than serving quotes.
+ *
+ * <pre>{@code
+ * long suppressed = limiter.tryAcquire();
+ * if (suppressed >= 0) {
+ *   log.warn("Promo lookup failed: {} ({} similar suppressed)", ex.getMessage(), suppressed);
+ * }
+ * }</pre>
+ */
+public class LogLimiter {
+
+  private final int permits;
+  private final long intervalMs;
+  private final LongSupplier clock;
+
+  private long windowStart;
+  private int used;
+  private long suppressed;
+
+  public LogLimiter(int permits, long intervalMs) {
+    this(permits, intervalMs, System::currentTimeMillis);
+  }
+
+  public LogLimiter(int permits, long intervalMs, LongSupplier clock) {
+    this.permits = permits;
+    this.intervalMs = intervalMs;
+    this.clock = clock;
+    this.windowStart = clock.getAsLong();
+  }
+
+  /**
+   * Returns how many lines were suppressed since the last one let through, or -1 if this one
+   * should be dropped too.
+   */
+  public synchronized long tryAcquire() {
+    long now = clock.getAsLong();
+    if (now - windowStart >= intervalMs) {
+      windowStart = now;
+      used = 0;
+    }
+    if (used >= permits) {
+      suppressed++;
+      return -1;
+    }
+    used++;
+    long dropped = suppressed;
+    suppressed = 0;
+    return dropped;
+  }
+}
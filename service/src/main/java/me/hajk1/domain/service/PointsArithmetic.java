@@ -0,0 +1,137 @@
+package me.hajk1.domain.service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import me.hajk1.domain.model.CustomerTier;
+
+/**
+ * Points math on scaled longs. A decimal is held as {@code unscaled / 10^scale}, exactly like
+ * {@link BigDecimal} does internally, so results match the BigDecimal rules bit for bit (HALF_UP
+ * for base points, DOWN for bonuses) without allocating per quote.
+ *
+ * <p>Anything that doesn't fit a long (huge fares, exotic rates) falls back to the BigDecimal
+ * reference methods, which are kept here as the single definition of the rules.
+ */
+final class PointsArithmetic {
+
+  private static final int MAX_SCALE = 18;
+  private static final long[] POWERS_OF_TEN = new long[MAX_SCALE + 1];
+
+  // Tier multipliers as scaled integers, indexed by ordinal (0.15 -> 15, scale 2)
+  private static final long[] TIER_UNSCALED = new long[CustomerTier.values().length];
+  private static final int[] TIER_SCALE = new int[CustomerTier.values().length];
+
+  // Direct-mapped cache of FX rates already split into unscaled/scale. There are only a handful of
+  // live rates, so after warm-up every lookup is a hit and the Double.toString behind
+  // BigDecimal.valueOf(double) disappears from the hot path.
+  private static final int RATE_CACHE_SIZE = 64;
+  private static final ScaledRate[] RATE_CACHE = new ScaledRate[RATE_CACHE_SIZE];
+
+  static {
+    POWERS_OF_TEN[0] = 1;
+    for (int i = 1; i <= MAX_SCALE; i++) {
+      POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10;
+    }
+    for (CustomerTier tier : CustomerTier.values()) {
+      BigDecimal multiplier = BigDecimal.valueOf(tier.getMultiplier());
+      TIER_UNSCALED[tier.ordinal()] = multiplier.unscaledValue().longValueExact();
+      TIER_SCALE[tier.ordinal()] = multiplier.scale();
+    }
+  }
+
+  private PointsArithmetic() {}
+
+  /** {@code fareAmount * fxRate}, rounded HALF_UP to whole points. */
+  static int basePoints(BigDecimal fareAmount, double fxRate) {
+    ScaledRate rate = scaledRate(fxRate);
+    int scale = fareAmount.scale() + rate.scale;
+    if (rate.scale < 0
+        || fareAmount.scale() < 0
+        || scale > MAX_SCALE
+        || fareAmount.precision() > MAX_SCALE) {
+      return basePointsReference(fareAmount, fxRate);
+    }
+    long fare = fareAmount.unscaledValue().longValue();
+    long product = fare * rate.unscaled;
+    if (Math.multiplyHigh(fare, rate.unscaled) != (product >> 63)) {
+      return basePointsReference(fareAmount, fxRate); // overflowed a long
+    }
+    long divisor = POWERS_OF_TEN[scale];
+    long points = product / divisor;
+    long remainder = product % divisor;
+    // HALF_UP: ties round away from zero
+    if (Math.abs(remainder) * 2 >= divisor) {
+      points += Long.signum(product);
+    }
+    return (int) points;
+  }
+
+  /** {@code basePoints * tier multiplier}, truncated (DOWN) so we never give extra points. */
+  static int tierBonus(int basePoints, CustomerTier tier) {
+    long multiplier = TIER_UNSCALED[tier.ordinal()];
+    long product = basePoints * multiplier;
+    if (Math.multiplyHigh(basePoints, multiplier) != (product >> 63)) {
+      return tierBonusReference(basePoints, tier);
+    }
+    // Long division truncates toward zero, which is exactly RoundingMode.DOWN
+    return (int) (product / POWERS_OF_TEN[TIER_SCALE[tier.ordinal()]]);
+  }
+
+  /** {@code pointsBeforePromo * bonusPercentage / 100}, truncated (DOWN). */
+  static int promoBonus(int pointsBeforePromo, int bonusPercentage) {
+    // int * int always fits a long
+    return (int) ((long) pointsBeforePromo * bonusPercentage / 100);
+  }
+
+  static int basePointsReference(BigDecimal fareAmount, double fxRate) {
+    return fareAmount
+        .multiply(BigDecimal.valueOf(fxRate))
+        .setScale(0, RoundingMode.HALF_UP)
+        .intValue();
+  }
+
+  static int tierBonusReference(int basePoints, CustomerTier tier) {
+    return BigDecimal.valueOf(basePoints)
+        .multiply(BigDecimal.valueOf(tier.getMultiplier()))
+        .setScale(0, RoundingMode.DOWN)
+        .intValue();
+  }
+
+  static int promoBonusReference(int pointsBeforePromo, int bonusPercentage) {
+    return BigDecimal.valueOf(pointsBeforePromo)
+        .multiply(BigDecimal.valueOf(bonusPercentage))
+        .divide(BigDecimal.valueOf(100), 0, RoundingMode.DOWN)
+        .intValue();
+  }
+
+  private static ScaledRate scaledRate(double fxRate) {
+    long bits = Double.doubleToLongBits(fxRate);
+    int slot = (int) (bits ^ (bits >>> 32)) & (RATE_CACHE_SIZE - 1);
+    ScaledRate cached = RATE_CACHE[slot];
+    if (cached != null && cached.bits == bits) {
+      return cached;
+    }
+    // Racy publish is fine: fields are final and a lost write only costs a recompute
+    ScaledRate rate = new ScaledRate(bits, BigDecimal.valueOf(fxRate));
+    RATE_CACHE[slot] = rate;
+    return rate;
+  }
+
+  private static final class ScaledRate {
+    private final long bits;
+    private final long unscaled;
+    private final int scale;
+
+    ScaledRate(long bits, BigDecimal rate) {
+      this.bits = bits;
+      if (rate.precision() > MAX_SCALE) {
+        // Too many digits for a long - negative scale sends basePoints to the reference path
+        this.unscaled = 0;
+        this.scale = -1;
+      } else {
+        this.unscaled = rate.unscaledValue().longValue();
+        this.scale = rate.scale();
+      }
+    }
+  }
+}
@@ -0,0 +1,31 @@
+package me.hajk1.domain.service;
+
+import io.vertx.core.Future;
+import java.util.List;
+import me.hajk1.domain.model.Deadline;
+import me.hajk1.domain.model.PointsQuoteRequest;
+import me.hajk1.domain.model.PointsQuoteResponse;
+
+public interface PointsCalculationService {
+  default Future<PointsQuoteResponse> calculatePoints(PointsQuoteRequest request) {
+    return calculatePoints(request, Deadline.NONE);
+  }
+
+  /**
+   * Quotes a fare that has to be answered by {@code deadline}. Past it, the quote fails with
+   * {@link DeadlineExceededException} if it still needs an FX rate and goes without its promo.
+   */
+  Future<PointsQuoteResponse> calculatePoints(PointsQuoteRequest request, Deadline deadline);
+
+  default List<Future<PointsQuoteResponse>> calculateBatch(List<PointsQuoteRequest> requests) {
+    return calculateBatch(requests, Deadline.NONE);
+  }
+
+  /**
+   * Quotes several fares at once, sharing FX and promo lookups across the batch. Returns one
+   * future per request, in request order; each fails or succeeds independently. The whole batch
+   * shares {@code deadline}.
+   */
+  List<Future<PointsQuoteResponse>> calculateBatch(
+      List<PointsQuoteRequest> requests, Deadline deadline);
+}
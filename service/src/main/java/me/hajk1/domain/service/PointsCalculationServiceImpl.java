@@ -0,0 +1,228 @@
+package me.hajk1.domain.service;
+
+import io.vertx.core.Future;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import me.hajk1.domain.model.Deadline;
+import me.hajk1.domain.model.FxRate;
+import me.hajk1.domain.model.PointsQuoteRequest;
+import me.hajk1.domain.model.PointsQuoteResponse;
+import me.hajk1.domain.model.PromoDetails;
+import me.hajk1.domain.model.PromoLookup;
+import me.hajk1.domain.service.QuoteMetrics.Stage;
+
+@Slf4j
+@RequiredArgsConstructor
+public class PointsCalculationServiceImpl implements PointsCalculationService {
+
+  private static final int MAX_POINTS = 50_000;
+  /** Warning on quotes priced from the last good rate while FX is down or slow. */
+  public static final String STALE_FX_RATE = "STALE_FX_RATE";
+  /** Every fare is converted into this currency. */
+  public static final String TARGET_CURRENCY = "AED";
+
+  private final FxRateService fxRateService;
+  private final PromoService promoService;
+  private final QuoteMetrics metrics;
+
+  // A promo outage fails every lookup - a few lines per interval say that just as well
+  private final LogLimiter promoWarnings = new LogLimiter(5, 10_000);
+
+  public PointsCalculationServiceImpl(FxRateService fxRateService, PromoService promoService) {
+    this(fxRateService, promoService, QuoteMetrics.NONE);
+  }
+
+  @Override
+  public Future<PointsQuoteResponse> calculatePoints(
+      PointsQuoteRequest request, Deadline deadline) {
+    log.debug("Calculating points for request: {}", request);
+
+    // Validate first - a shared, stackless exception, so rejecting bad input is nearly free
+    ValidationError invalid = validate(request);
+    if (invalid != null) {
+      return Future.failedFuture(invalid.exception());
+    }
+    // Already out of time (queued too long, or the caller's deadline had passed on arrival)
+    if (deadline.isExpired()) {
+      return Future.failedFuture(new DeadlineExceededException("quote"));
+    }
+
+    // Promo lookup doesn't depend on the FX rate, so start both calls together
+    Future<PromoDetails> promoFuture = lookupPromo(request.getPromoCode(), deadline);
+    Future<FxRate> fxFuture = lookupRate(request.getCurrency(), deadline);
+
+    return join(request, fxFuture, promoFuture);
+  }
+
+  @Override
+  public List<Future<PointsQuoteResponse>> calculateBatch(
+      List<PointsQuoteRequest> requests, Deadline deadline) {
+    log.info("Calculating points for batch of {} requests", requests.size());
+
+    // One FX lookup per currency and one promo lookup per code, shared by the whole batch
+    Map<String, Future<FxRate>> fxRates = new HashMap<>();
+    Map<String, Future<PromoDetails>> promos = new HashMap<>();
+
+    List<Future<PointsQuoteResponse>> results = new ArrayList<>(requests.size());
+    for (PointsQuoteRequest request : requests) {
+      ValidationError invalid = validate(request);
+      if (invalid != null) {
+        results.add(Future.failedFuture(invalid.exception()));
+        continue;
+      }
+      if (deadline.isExpired()) {
+        results.add(Future.failedFuture(new DeadlineExceededException("quote")));
+        continue;
+      }
+
+      Future<FxRate> fxFuture =
+          fxRates.computeIfAbsent(
+              request.getCurrency(), currency -> lookupRate(currency, deadline));
+      Future<PromoDetails> promoFuture =
+          hasPromoCode(request.getPromoCode())
+              ? promos.computeIfAbsent(request.getPromoCode(), code -> lookupPromo(code, deadline))
+              : Future.succeededFuture();
+
+      results.add(join(request, fxFuture, promoFuture));
+    }
+    return results;
+  }
+
+  // FX failure fails the quote; promo failure has already been turned into "no promo"
+  private Future<PointsQuoteResponse> join(
+      PointsQuoteRequest request, Future<FxRate> fxFuture, Future<PromoDetails> promoFuture) {
+    return Future.all(fxFuture, promoFuture)
+        .map(ignored -> price(request, fxFuture.result(), promoFuture.result()));
+  }
+
+  // The steps below are package-private for AwaitPointsCalculationService, which only changes
+  // how they are sequenced
+
+  ValidationError validate(PointsQuoteRequest request) {
+    long start = System.nanoTime();
+    ValidationError invalid = request.validationError();
+    metrics.recordStage(Stage.VALIDATION, System.nanoTime() - start);
+    if (invalid != null) {
+      log.debug("Validation failed: {}", invalid.message());
+    }
+    return invalid;
+  }
+
+  PointsQuoteResponse price(PointsQuoteRequest request, FxRate fx, PromoDetails promo) {
+    long start = System.nanoTime();
+    PointsQuoteResponse response = calculate(request, fx, promo);
+    metrics.recordStage(Stage.CALCULATION, System.nanoTime() - start);
+    return response;
+  }
+
+  static boolean hasPromoCode(String promoCode) {
+    return promoCode != null && !promoCode.isBlank();
+  }
+
+  // Stage times cover the whole lookup as the quote sees it: cache, coalescing, retries, hedges
+  Future<FxRate> lookupRate(String currency, Deadline deadline) {
+    long start = System.nanoTime();
+    return fxRateService
+        .lookup(currency, TARGET_CURRENCY, deadline)
+        .onComplete(ar -> metrics.recordStage(Stage.FX, System.nanoTime() - start));
+  }
+
+  Future<PromoDetails> lookupPromo(String promoCode, Deadline deadline) {
+    if (!hasPromoCode(promoCode)) {
+      return Future.succeededFuture();
+    }
+    long start = System.nanoTime();
+    return promoService
+        .lookup(promoCode, deadline)
+        .map(
+            lookup -> {
+              metrics.recordStage(Stage.PROMO, System.nanoTime() - start);
+              return promoOrNull(promoCode, lookup);
+            });
+  }
+
+  // Either way the quote goes out without a promo, but only an error is a degraded quote
+  private PromoDetails promoOrNull(String promoCode, PromoLookup lookup) {
+    switch (lookup.getStatus()) {
+      case FOUND:
+        return lookup.getDetails();
+      case NOT_FOUND:
+        log.debug("Unknown promo code {}, continuing without promo", promoCode);
+        return null;
+      default:
+        metrics.promoDegraded();
+        long suppressed = promoWarnings.tryAcquire();
+        if (suppressed >= 0) {
+          log.warn(
+              "Promo service failed, continuing without promo: {} ({} similar suppressed)",
+              lookup.getError().getMessage(),
+              suppressed);
+        }
+        return null;
+    }
+  }
+
+  private PointsQuoteResponse calculate(PointsQuoteRequest request, FxRate fx, PromoDetails promo) {
+    double fxRate = fx.getRate();
+    // NOTE: Initially tried using double here, but ran into precision issues.
+    // Example: 1234.50 * 3.67 = 4530.614999999998 (not 4530.615)
+    // Switched to BigDecimal to ensure exact financial calculations - this was a painful
+    // debugging session before I realized floating-point arithmetic was the culprit!
+    // PointsArithmetic now does the same exact decimal math on scaled longs, without the
+    // BigDecimal allocations (same HALF_UP/DOWN rules, BigDecimal kept as the fallback).
+    int basePoints = PointsArithmetic.basePoints(request.getFareAmount(), fxRate);
+
+    // Truncate (DOWN) instead of rounding to avoid giving extra points
+    int tierBonus = PointsArithmetic.tierBonus(basePoints, request.getCustomerTier());
+
+    // No promo code, or the lookup failed - quote without promo bonus
+    if (promo == null) {
+      int total = Math.min(basePoints + tierBonus, MAX_POINTS);
+      return PointsQuoteResponse.builder()
+          .basePoints(basePoints)
+          .tierBonus(tierBonus)
+          .promoBonus(0)
+          .totalPoints(total)
+          .effectiveFxRate(fxRate)
+          .warnings(fx.isStale() ? List.of(STALE_FX_RATE) : List.of())
+          .build();
+    }
+
+    return calculateWithPromo(basePoints, tierBonus, fx, promo);
+  }
+
+  private PointsQuoteResponse calculateWithPromo(
+      int basePoints, int tierBonus, FxRate fx, PromoDetails promo) {
+    // Promo applies to base + tier (not just base)
+    // This business rule came from the requirements - took me a moment to parse correctly
+    int pointsBeforePromo = basePoints + tierBonus;
+    int promoBonus = PointsArithmetic.promoBonus(pointsBeforePromo, promo.getBonusPercentage());
+
+    int totalBeforeCap = basePoints + tierBonus + promoBonus;
+    // Cap at 50k - business requirement
+    // Important: Apply cap AFTER all bonuses are calculated
+    int totalPoints = Math.min(totalBeforeCap, MAX_POINTS);
+
+    List<String> warnings = new ArrayList<>();
+    if (promo.isExpiringSoon()) {
+      warnings.add("PROMO_EXPIRES_SOON");
+    }
+    // Served from the last good rate while the FX service is down or slow
+    if (fx.isStale()) {
+      warnings.add(STALE_FX_RATE);
+    }
+
+    return PointsQuoteResponse.builder()
+        .basePoints(basePoints)
+        .tierBonus(tierBonus)
+        .promoBonus(promoBonus)
+        .totalPoints(totalPoints)
+        .effectiveFxRate(fx.getRate())
+        .warnings(warnings)
+        .build();
+  }
+}
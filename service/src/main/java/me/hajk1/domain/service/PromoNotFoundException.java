@@ -0,0 +1,11 @@
+package me.hajk1.domain.service;
+
+/**
+ * Signals that the promo service does not know the code. This is an expected outcome, so the
+ * exception skips stack trace capture.
+ */
+public class PromoNotFoundException extends RuntimeException {
+  public PromoNotFoundException(String promoCode) {
+    super("Promo code not found: " + promoCode, null, false, false);
+  }
+}
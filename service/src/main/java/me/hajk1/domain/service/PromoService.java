@@ -0,0 +1,41 @@
+package me.hajk1.domain.service;
+
+import io.vertx.core.Future;
+import me.hajk1.domain.model.Deadline;
+import me.hajk1.domain.model.PromoDetails;
+import me.hajk1.domain.model.PromoLookup;
+
+public interface PromoService {
+  Future<PromoDetails> getPromoDetails(String promoCode);
+
+  /**
+   * The same lookup as a result that never fails: found, not found or error. The quote path uses
+   * this; implementations override it so an unknown code costs no exception at all.
+   */
+  default Future<PromoLookup> lookup(String promoCode) {
+    return getPromoDetails(promoCode)
+        .map(PromoLookup::found)
+        .otherwise(
+            ex ->
+                ex instanceof PromoNotFoundException
+                    ? PromoLookup.notFound()
+                    : PromoLookup.error(ex));
+  }
+
+  /**
+   * {@link #lookup(String)} for a quote that has to be answered by {@code deadline}. Clients
+   * doing I/O spend only what is left of it; decorators pass it on.
+   */
+  default Future<PromoLookup> lookup(String promoCode, Deadline deadline) {
+    return lookup(promoCode);
+  }
+
+  /** Back from a {@link PromoLookup} to {@link #getPromoDetails}'s failed-future contract. */
+  static Future<PromoDetails> toDetails(String promoCode, PromoLookup lookup) {
+    return switch (lookup.getStatus()) {
+      case FOUND -> Future.succeededFuture(lookup.getDetails());
+      case NOT_FOUND -> Future.failedFuture(new PromoNotFoundException(promoCode));
+      case ERROR -> Future.failedFuture(lookup.getError());
+    };
+  }
+}
@@ -0,0 +1,32 @@
+package me.hajk1.domain.service;
+
+/**
+ * Timing hooks for the quote pipeline, so the domain doesn't depend on a metrics implementation.
+ * Called on the hot path - implementations must be cheap and non-blocking.
+ */
+public interface QuoteMetrics {
+
+  QuoteMetrics NONE =
+      new QuoteMetrics() {
+        @Override
+        public void recordStage(Stage stage, long nanos) {}
+
+        @Override
+        public void promoDegraded() {}
+      };
+
+  enum Stage {
+    DECODE,
+    VALIDATION,
+    FX,
+    PROMO,
+    CALCULATION,
+    ENCODE,
+    TOTAL
+  }
+
+  void recordStage(Stage stage, long nanos);
+
+  /** A promo code was given but the quote went out without it (lookup failed or timed out). */
+  void promoDegraded();
+}
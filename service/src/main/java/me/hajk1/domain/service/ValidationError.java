@@ -0,0 +1,26 @@
+package me.hajk1.domain.service;
+
+/**
+ * The ways a quote request gets rejected. Each carries one shared {@link ValidationException}, so
+ * turning away bad input allocates nothing.
+ */
+public enum ValidationError {
+  FARE_NOT_POSITIVE("Fare amount must be positive"),
+  CURRENCY_REQUIRED("Currency is required"),
+  CABIN_CLASS_REQUIRED("Cabin class is required"),
+  INVALID_JSON("Invalid JSON format");
+
+  private final ValidationException exception;
+
+  ValidationError(String message) {
+    this.exception = new ValidationException(message);
+  }
+
+  public String message() {
+    return exception.getMessage();
+  }
+
+  public ValidationException exception() {
+    return exception;
+  }
+}
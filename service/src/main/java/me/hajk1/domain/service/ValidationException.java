@@ -0,0 +1,11 @@
+package me.hajk1.domain.service;
+
+/**
+ * Rejected input. Says what was wrong with the request, not where we noticed, so it skips stack
+ * trace capture - the common ones are shared instances from {@link ValidationError}.
+ */
+public class ValidationException extends RuntimeException {
+  public ValidationException(String message) {
+    super(message, null, false, false);
+  }
+}
@@ -0,0 +1,95 @@
+package me.hajk1.infrastructure.cache;
+
+import io.vertx.core.Future;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import lombok.extern.slf4j.Slf4j;
+import me.hajk1.domain.model.CurrencyPair;
+import me.hajk1.domain.model.Deadline;
+import me.hajk1.domain.model.FxRate;
+import me.hajk1.domain.service.FxRateService;
+import me.hajk1.infrastructure.metrics.MetricsRegistry;
+
+/**
+ * Caches FX rates per currency pair. A hit inside the refresh-ahead window returns the cached rate
+ * immediately and reloads it in the background, so hot pairs never expire on the request path.
+ */
+@Slf4j
+public class CachingFxRateService implements FxRateService {
+
+  private final FxRateService delegate;
+  private final TtlCache<CurrencyPair, Double> cache;
+  private final long ttlMs;
+  private final long refreshAheadMs;
+  private final Set<CurrencyPair> refreshing = ConcurrentHashMap.newKeySet();
+
+  private final LongAdder hits;
+  private final LongAdder misses;
+  private final LongAdder refreshes;
+
+  public CachingFxRateService(
+      FxRateService delegate,
+      TtlCache<CurrencyPair, Double> cache,
+      long ttlMs,
+      long refreshAheadMs,
+      MetricsRegistry metrics) {
+    this.delegate = delegate;
+    this.cache = cache;
+    this.ttlMs = ttlMs;
+    this.refreshAheadMs = refreshAheadMs;
+    this.hits = metrics.counter("fx_cache_hits_total");
+    this.misses = metrics.counter("fx_cache_misses_total");
+    this.refreshes = metrics.counter("fx_cache_refreshes_total");
+    metrics.counter("fx_cache_evictions_total", cache::evictions);
+    metrics.gauge("fx_cache_entries", cache::size);
+  }
+
+  @Override
+  public Future<Double> getRate(String fromCurrency, String toCurrency) {
+    return rate(fromCurrency, toCurrency, Deadline.NONE);
+  }
+
+  @Override
+  public Future<FxRate> lookup(String fromCurrency, String toCurrency, Deadline deadline) {
+    return rate(fromCurrency, toCurrency, deadline).map(FxRate::fresh);
+  }
+
+  private Future<Double> rate(String fromCurrency, String toCurrency, Deadline deadline) {
+    CurrencyPair pair = new CurrencyPair(fromCurrency, toCurrency);
+    TtlCache.Entry<Double> entry = cache.getEntry(pair);
+    if (entry != null) {
+      hits.increment();
+      if (entry.getExpiresAt() - cache.now() <= refreshAheadMs) {
+        refreshAhead(pair);
+      }
+      return Future.succeededFuture(entry.getValue());
+    }
+
+    misses.increment();
+    return delegate
+        .lookup(fromCurrency, toCurrency, deadline)
+        .map(FxRate::getRate)
+        .onSuccess(rate -> cache.put(pair, rate, ttlMs));
+  }
+
+  private void refreshAhead(CurrencyPair pair) {
+    // Only one background reload per pair; other hits keep serving the cached value
+    if (!refreshing.add(pair)) {
+      return;
+    }
+    refreshes.increment();
+    delegate
+        .getRate(pair.getFrom(), pair.getTo())
+        .onComplete(
+            ar -> {
+              refreshing.remove(pair);
+              if (ar.succeeded()) {
+                cache.put(pair, ar.result(), ttlMs);
+              } else {
+                // Keep serving the old rate until it expires; the next miss will retry
+                log.warn("FX refresh-ahead failed for {}: {}", pair, ar.cause().getMessage());
+              }
+            });
+  }
+}
@@ -0,0 +1,184 @@
+package me.hajk1.infrastructure.cache;
+
+import io.vertx.core.Future;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+import lombok.Value;
+import me.hajk1.domain.model.CabinClass;
+import me.hajk1.domain.model.CurrencyPair;
+import me.hajk1.domain.model.CustomerTier;
+import me.hajk1.domain.model.Deadline;
+import me.hajk1.domain.model.PointsQuoteRequest;
+import me.hajk1.domain.model.PointsQuoteResponse;
+import me.hajk1.domain.service.PointsCalculationService;
+import me.hajk1.domain.service.PointsCalculationServiceImpl;
+import me.hajk1.infrastructure.metrics.MetricsRegistry;
+
+/**
+ * Caches whole quotes by request, so repeated identical quotes skip both lookups and the points
+ * math. Each entry remembers the {@link QuoteInputVersions} of its FX rate and promo; a hit whose
+ * rate or promo has moved on since is dropped and recomputed.
+ *
+ * <p>Only quotes whose inputs were already known when they started are stored, so the first quote
+ * after a rate or promo change is computed twice. Quotes on a stale FX rate are never stored.
+ */
+public class CachingPointsCalculationService implements PointsCalculationService {
+
+  // Promo version of a quote without a promo code: matches whatever the versions say
+  private static final long NO_PROMO = -1;
+
+  private final PointsCalculationService delegate;
+  private final TtlCache<QuoteKey, CachedQuote> cache;
+  private final long ttlMs;
+  private final QuoteInputVersions versions;
+
+  private final LongAdder hits;
+  private final LongAdder misses;
+  private final LongAdder invalidations;
+
+  public CachingPointsCalculationService(
+      PointsCalculationService delegate,
+      TtlCache<QuoteKey, CachedQuote> cache,
+      long ttlMs,
+      QuoteInputVersions versions,
+      MetricsRegistry metrics) {
+    this.delegate = delegate;
+    this.cache = cache;
+    this.ttlMs = ttlMs;
+    this.versions = versions;
+    this.hits = metrics.counter("quote_cache_hits_total");
+    this.misses = metrics.counter("quote_cache_misses_total");
+    this.invalidations = metrics.counter("quote_cache_invalidations_total");
+    metrics.counter("quote_cache_evictions_total", cache::evictions);
+    metrics.gauge("quote_cache_entries", cache::size);
+  }
+
+  @Override
+  public Future<PointsQuoteResponse> calculatePoints(
+      PointsQuoteRequest request, Deadline deadline) {
+    Lookup lookup = lookup(request);
+    if (lookup == null) {
+      return delegate.calculatePoints(request, deadline);
+    }
+    // A hit costs nothing, so it is served even past the deadline
+    if (lookup.getHit() != null) {
+      return Future.succeededFuture(lookup.getHit());
+    }
+    return delegate
+        .calculatePoints(request, deadline)
+        .onSuccess(response -> store(lookup, response));
+  }
+
+  @Override
+  public List<Future<PointsQuoteResponse>> calculateBatch(
+      List<PointsQuoteRequest> requests, Deadline deadline) {
+    List<Future<PointsQuoteResponse>> results =
+        new ArrayList<>(Collections.nCopies(requests.size(), null));
+    // Misses still go through as one batch, so they keep sharing lookups
+    List<Integer> missIndexes = new ArrayList<>();
+    List<PointsQuoteRequest> missRequests = new ArrayList<>();
+    List<Lookup> missLookups = new ArrayList<>();
+    for (int i = 0; i < requests.size(); i++) {
+      Lookup lookup = lookup(requests.get(i));
+      if (lookup != null && lookup.getHit() != null) {
+        results.set(i, Future.succeededFuture(lookup.getHit()));
+      } else {
+        missIndexes.add(i);
+        missRequests.add(requests.get(i));
+        missLookups.add(lookup);
+      }
+    }
+    if (missRequests.isEmpty()) {
+      return results;
+    }
+
+    List<Future<PointsQuoteResponse>> computed = delegate.calculateBatch(missRequests, deadline);
+    for (int i = 0; i < computed.size(); i++) {
+      Lookup lookup = missLookups.get(i);
+      Future<PointsQuoteResponse> result = computed.get(i);
+      results.set(
+          missIndexes.get(i),
+          lookup == null ? result : result.onSuccess(response -> store(lookup, response)));
+    }
+    return results;
+  }
+
+  // Null for requests that fail validation - the delegate rejects those without any I/O
+  private Lookup lookup(PointsQuoteRequest request) {
+    if (request.validationError() != null) {
+      return null;
+    }
+    QuoteKey key = QuoteKey.of(request);
+    long fxVersion =
+        versions.fxVersion(
+            new CurrencyPair(key.getCurrency(), PointsCalculationServiceImpl.TARGET_CURRENCY));
+    long promoVersion =
+        key.getPromoCode() == null ? NO_PROMO : versions.promoVersion(key.getPromoCode());
+
+    TtlCache.Entry<CachedQuote> entry = cache.getEntry(key);
+    if (entry != null) {
+      CachedQuote cached = entry.getValue();
+      if (cached.getFxVersion() == fxVersion && cached.getPromoVersion() == promoVersion) {
+        hits.increment();
+        return new Lookup(key, fxVersion, promoVersion, cached.getResponse());
+      }
+      invalidations.increment();
+      cache.invalidate(key);
+    }
+    misses.increment();
+    return new Lookup(key, fxVersion, promoVersion, null);
+  }
+
+  private void store(Lookup lookup, PointsQuoteResponse response) {
+    if (lookup.getFxVersion() == QuoteInputVersions.UNKNOWN
+        || lookup.getPromoVersion() == QuoteInputVersions.UNKNOWN
+        || response.getWarnings().contains(PointsCalculationServiceImpl.STALE_FX_RATE)) {
+      return;
+    }
+    cache.put(
+        lookup.getKey(),
+        new CachedQuote(response, lookup.getFxVersion(), lookup.getPromoVersion()),
+        ttlMs);
+  }
+
+  /**
+   * A request as far as its quote is concerned: 100 and 100.00 are one fare, and a blank promo
+   * code is no promo code.
+   */
+  @Value
+  public static class QuoteKey {
+    BigDecimal fareAmount;
+    String currency;
+    CabinClass cabinClass;
+    CustomerTier customerTier;
+    String promoCode;
+
+    static QuoteKey of(PointsQuoteRequest request) {
+      String promoCode = request.getPromoCode();
+      return new QuoteKey(
+          request.getFareAmount().stripTrailingZeros(),
+          request.getCurrency(),
+          request.getCabinClass(),
+          request.getCustomerTier(),
+          promoCode == null || promoCode.isBlank() ? null : promoCode);
+    }
+  }
+
+  @Value
+  public static class CachedQuote {
+    PointsQuoteResponse response;
+    long fxVersion;
+    long promoVersion;
+  }
+
+  @Value
+  private static class Lookup {
+    QuoteKey key;
+    long fxVersion;
+    long promoVersion;
+    PointsQuoteResponse hit;
+  }
+}
@@ -0,0 +1,89 @@
+package me.hajk1.infrastructure.cache;
+
+import io.vertx.core.Future;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import me.hajk1.domain.model.Deadline;
+import me.hajk1.domain.model.PromoDetails;
+import me.hajk1.domain.model.PromoLookup;
+import me.hajk1.domain.service.PromoService;
+import me.hajk1.infrastructure.metrics.MetricsRegistry;
+
+/**
+ * Caches promo lookups by code. Known codes live until they expire (capped by {@code ttlMs}); codes
+ * the promo service does not know are remembered for a short negative TTL so repeated bad codes
+ * skip the round trip. Transient errors are never cached.
+ */
+public class CachingPromoService implements PromoService {
+
+  private final PromoService delegate;
+  private final TtlCache<String, Optional<PromoDetails>> cache;
+  private final long ttlMs;
+  private final long negativeTtlMs;
+
+  private final LongAdder hits;
+  private final LongAdder negativeHits;
+  private final LongAdder misses;
+
+  public CachingPromoService(
+      PromoService delegate,
+      TtlCache<String, Optional<PromoDetails>> cache,
+      long ttlMs,
+      long negativeTtlMs,
+      MetricsRegistry metrics) {
+    this.delegate = delegate;
+    this.cache = cache;
+    this.ttlMs = ttlMs;
+    this.negativeTtlMs = negativeTtlMs;
+    this.hits = metrics.counter("promo_cache_hits_total");
+    this.negativeHits = metrics.counter("promo_cache_negative_hits_total");
+    this.misses = metrics.counter("promo_cache_misses_total");
+    metrics.counter("promo_cache_evictions_total", cache::evictions);
+    metrics.gauge("promo_cache_entries", cache::size);
+  }
+
+  @Override
+  public Future<PromoDetails> getPromoDetails(String promoCode) {
+    return lookup(promoCode).compose(lookup -> PromoService.toDetails(promoCode, lookup));
+  }
+
+  @Override
+  public Future<PromoLookup> lookup(String promoCode) {
+    return lookup(promoCode, Deadline.NONE);
+  }
+
+  @Override
+  public Future<PromoLookup> lookup(String promoCode, Deadline deadline) {
+    TtlCache.Entry<Optional<PromoDetails>> entry = cache.getEntry(promoCode);
+    if (entry != null) {
+      if (entry.getValue().isPresent()) {
+        hits.increment();
+        return Future.succeededFuture(PromoLookup.found(entry.getValue().get()));
+      }
+      negativeHits.increment();
+      return Future.succeededFuture(PromoLookup.notFound());
+    }
+
+    misses.increment();
+    return delegate
+        .lookup(promoCode, deadline)
+        .onSuccess(
+            lookup -> {
+              if (lookup.isFound()) {
+                cachePromo(promoCode, lookup.getDetails());
+              } else if (lookup.getStatus() == PromoLookup.Status.NOT_FOUND) {
+                cache.put(promoCode, Optional.empty(), negativeTtlMs);
+              }
+            });
+  }
+
+  private void cachePromo(String promoCode, PromoDetails promo) {
+    // Never keep a promo past its own expiry
+    long expiresInMs = TimeUnit.DAYS.toMillis(promo.getExpiresInDays());
+    long entryTtl = Math.min(ttlMs, expiresInMs);
+    if (entryTtl > 0) {
+      cache.put(promoCode, Optional.of(promo), entryTtl);
+    }
+  }
+}
@@ -0,0 +1,27 @@
+package me.hajk1.infrastructure.cache;
+
+import java.util.Map;
+import lombok.Value;
+
+/**
+ * One poll's worth of FX rates into a single target currency. Never modified after it's built:
+ * the poller publishes a whole new table each time, so readers on any event loop see either the
+ * old rates or the new ones, never a mix.
+ */
+@Value
+public class FxRateTable {
+  String target;
+  Map<String, Double> rates;
+  long fetchedAtMs;
+
+  public FxRateTable(String target, Map<String, Double> rates, long fetchedAtMs) {
+    this.target = target;
+    this.rates = Map.copyOf(rates);
+    this.fetchedAtMs = fetchedAtMs;
+  }
+
+  /** The rate for the pair, or null if it isn't in this table. */
+  public Double rate(String from, String to) {
+    return target.equals(to) ? rates.get(from) : null;
+  }
+}
@@ -0,0 +1,91 @@
+package me.hajk1.infrastructure.cache;
+
+import io.vertx.core.Future;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+import me.hajk1.domain.model.Deadline;
+import me.hajk1.domain.model.FxRate;
+import me.hajk1.domain.service.FxRateService;
+import me.hajk1.infrastructure.metrics.MetricsRegistry;
+
+/**
+ * Answers FX lookups from the latest polled {@link FxRateTable}, with no I/O on the request path.
+ * Pairs the table doesn't have go to the per-pair {@code delegate}, and so does everything once
+ * the table is older than {@code maxAgeMs} (the poller has been failing for a while). Between
+ * {@code staleAfterMs} and {@code maxAgeMs} the table is still used, but its rates go out as
+ * {@link FxRate#stale} so the quote carries a {@code STALE_FX_RATE} warning.
+ */
+public class FxRateTableService implements FxRateService {
+
+  private final Supplier<FxRateTable> table;
+  private final FxRateService delegate;
+  private final long staleAfterMs;
+  private final long maxAgeMs;
+  private final LongSupplier clock;
+
+  private final LongAdder hits;
+  private final LongAdder staleHits;
+  private final LongAdder fallbacks;
+
+  public FxRateTableService(
+      Supplier<FxRateTable> table,
+      FxRateService delegate,
+      long staleAfterMs,
+      long maxAgeMs,
+      MetricsRegistry metrics) {
+    this(table, delegate, staleAfterMs, maxAgeMs, metrics, System::currentTimeMillis);
+  }
+
+  public FxRateTableService(
+      Supplier<FxRateTable> table,
+      FxRateService delegate,
+      long staleAfterMs,
+      long maxAgeMs,
+      MetricsRegistry metrics,
+      LongSupplier clock) {
+    this.table = table;
+    this.delegate = delegate;
+    this.staleAfterMs = staleAfterMs;
+    this.maxAgeMs = maxAgeMs;
+    this.clock = clock;
+    this.hits = metrics.counter("fx_table_hits_total");
+    this.staleHits = metrics.counter("fx_table_stale_hits_total");
+    this.fallbacks = metrics.counter("fx_table_fallbacks_total");
+  }
+
+  @Override
+  public Future<Double> getRate(String fromCurrency, String toCurrency) {
+    FxRate rate = tableRate(fromCurrency, toCurrency);
+    return rate != null
+        ? Future.succeededFuture(rate.getRate())
+        : delegate.getRate(fromCurrency, toCurrency);
+  }
+
+  @Override
+  public Future<FxRate> lookup(String fromCurrency, String toCurrency, Deadline deadline) {
+    FxRate rate = tableRate(fromCurrency, toCurrency);
+    return rate != null
+        ? Future.succeededFuture(rate)
+        : delegate.lookup(fromCurrency, toCurrency, deadline);
+  }
+
+  /** The table's rate for the pair, or null if the lookup has to go to the delegate. */
+  private FxRate tableRate(String fromCurrency, String toCurrency) {
+    FxRateTable current = table.get();
+    if (current != null) {
+      long ageMs = clock.getAsLong() - current.getFetchedAtMs();
+      Double rate = ageMs <= maxAgeMs ? current.rate(fromCurrency, toCurrency) : null;
+      if (rate != null) {
+        hits.increment();
+        if (ageMs > staleAfterMs) {
+          staleHits.increment();
+          return FxRate.stale(rate);
+        }
+        return FxRate.fresh(rate);
+      }
+    }
+    fallbacks.increment();
+    return null;
+  }
+}
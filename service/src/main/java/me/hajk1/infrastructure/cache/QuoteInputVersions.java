@@ -0,0 +1,147 @@
+package me.hajk1.infrastructure.cache;
+
+import io.vertx.core.Future;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import lombok.Value;
+import me.hajk1.domain.model.CurrencyPair;
+import me.hajk1.domain.model.Deadline;
+import me.hajk1.domain.model.FxRate;
+import me.hajk1.domain.model.PromoDetails;
+import me.hajk1.domain.model.PromoLookup;
+import me.hajk1.domain.service.FxRateService;
+import me.hajk1.domain.service.PromoService;
+
+/**
+ * Version numbers for what a quote is computed from: one per currency pair (its FX rate) and one
+ * per promo code. A version moves whenever a rate or promo seen on the quote path differs from the
+ * last one seen for that key, and on every failed promo lookup. Cached quotes remember the versions
+ * they were computed under and stop matching as soon as either moves.
+ *
+ * <p>Both maps are bounded LRUs. A forgotten key reads as 0, which no cached quote carries, and
+ * versions are never reused - so eviction can only cause misses, never a wrong hit.
+ */
+public class QuoteInputVersions {
+
+  /** Version of a key we have no value for yet. */
+  public static final long UNKNOWN = 0;
+
+  private static final Object PROMO_NOT_FOUND = new Object();
+
+  private final Map<CurrencyPair, Input> fxRates;
+  private final Map<String, Input> promos;
+  private long lastVersion;
+
+  public QuoteInputVersions(int maxEntries) {
+    this.fxRates = lru(maxEntries);
+    this.promos = lru(maxEntries);
+  }
+
+  public synchronized long fxVersion(CurrencyPair pair) {
+    Input input = fxRates.get(pair);
+    return input == null ? UNKNOWN : input.getVersion();
+  }
+
+  public synchronized long promoVersion(String promoCode) {
+    Input input = promos.get(promoCode);
+    return input == null ? UNKNOWN : input.getVersion();
+  }
+
+  public synchronized void fxRate(CurrencyPair pair, double rate) {
+    see(fxRates, pair, rate);
+  }
+
+  /** Every pair in a freshly polled table, so table updates reach cached quotes straight away. */
+  public void fxRateTable(FxRateTable table) {
+    table
+        .getRates()
+        .forEach((from, rate) -> fxRate(new CurrencyPair(from, table.getTarget()), rate));
+  }
+
+  public synchronized void promo(String promoCode, PromoLookup lookup) {
+    switch (lookup.getStatus()) {
+      case FOUND:
+        see(promos, promoCode, lookup.getDetails());
+        break;
+      case NOT_FOUND:
+        see(promos, promoCode, PROMO_NOT_FOUND);
+        break;
+      default:
+        // The quote went out without its promo - nothing computed now may be reused
+        promos.put(promoCode, new Input(null, ++lastVersion));
+    }
+  }
+
+  /** Wraps the top of the FX chain so every fresh rate a quote uses is recorded. */
+  public FxRateService track(FxRateService delegate) {
+    return new FxRateService() {
+      @Override
+      public Future<Double> getRate(String fromCurrency, String toCurrency) {
+        return delegate
+            .getRate(fromCurrency, toCurrency)
+            .onSuccess(rate -> fxRate(new CurrencyPair(fromCurrency, toCurrency), rate));
+      }
+
+      @Override
+      public Future<FxRate> lookup(String fromCurrency, String toCurrency) {
+        return lookup(fromCurrency, toCurrency, Deadline.NONE);
+      }
+
+      @Override
+      public Future<FxRate> lookup(String fromCurrency, String toCurrency, Deadline deadline) {
+        // Stale rates aren't recorded: quotes using them are never cached anyway
+        return delegate
+            .lookup(fromCurrency, toCurrency, deadline)
+            .onSuccess(
+                fx -> {
+                  if (!fx.isStale()) {
+                    fxRate(new CurrencyPair(fromCurrency, toCurrency), fx.getRate());
+                  }
+                });
+      }
+    };
+  }
+
+  /** Wraps the top of the promo chain so every lookup result a quote uses is recorded. */
+  public PromoService track(PromoService delegate) {
+    return new PromoService() {
+      @Override
+      public Future<PromoDetails> getPromoDetails(String promoCode) {
+        return lookup(promoCode).compose(lookup -> PromoService.toDetails(promoCode, lookup));
+      }
+
+      @Override
+      public Future<PromoLookup> lookup(String promoCode) {
+        return lookup(promoCode, Deadline.NONE);
+      }
+
+      @Override
+      public Future<PromoLookup> lookup(String promoCode, Deadline deadline) {
+        return delegate.lookup(promoCode, deadline).onSuccess(lookup -> promo(promoCode, lookup));
+      }
+    };
+  }
+
+  private <K> void see(Map<K, Input> inputs, K key, Object value) {
+    Input input = inputs.get(key);
+    if (input == null || !Objects.equals(input.getValue(), value)) {
+      inputs.put(key, new Input(value, ++lastVersion));
+    }
+  }
+
+  private static <K> Map<K, Input> lru(int maxEntries) {
+    return new LinkedHashMap<>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<K, Input> eldest) {
+        return size() > maxEntries;
+      }
+    };
+  }
+
+  @Value
+  private static class Input {
+    Object value;
+    long version;
+  }
+}
@@ -0,0 +1,159 @@
+package me.hajk1.infrastructure.cache;
+
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import lombok.Builder;
+import lombok.extern.slf4j.Slf4j;
+import me.hajk1.domain.model.CurrencyPair;
+import me.hajk1.domain.model.Deadline;
+import me.hajk1.domain.model.FxRate;
+import me.hajk1.domain.service.FxRateService;
+import me.hajk1.infrastructure.metrics.MetricsRegistry;
+
+/**
+ * Stale-while-revalidate on top of the FX chain. Every good rate is remembered per pair for {@code
+ * maxStaleMs}; when a lookup fails, or hasn't answered within {@code serveStaleAfterMs}, the quote
+ * gets the remembered rate flagged stale instead of a 500 or a long wait.
+ *
+ * <p>Once a pair has gone stale, quotes stop waiting on the upstream for it: they get the stale
+ * rate straight away while one background refresh per pair retries every {@code revalidateMs}
+ * until it gets a fresh rate (or the stale one runs out).
+ *
+ * <p>Keep one instance per verticle - timers and futures stay on its event loop. The remembered
+ * rates are a shared {@link TtlCache}, so every instance can fall back on them.
+ */
+@Slf4j
+public class StaleFxRateService implements FxRateService {
+
+  private final Vertx vertx;
+  private final FxRateService delegate;
+  private final TtlCache<CurrencyPair, Double> lastGood;
+  private final long maxStaleMs;
+  private final long serveStaleAfterMs;
+  private final long revalidateMs;
+  private final Set<CurrencyPair> revalidating = ConcurrentHashMap.newKeySet();
+
+  private final LongAdder staleServed;
+  private final LongAdder revalidations;
+
+  @Builder
+  private StaleFxRateService(
+      Vertx vertx,
+      FxRateService delegate,
+      TtlCache<CurrencyPair, Double> lastGood,
+      long maxStaleMs,
+      long serveStaleAfterMs,
+      long revalidateMs,
+      MetricsRegistry metrics) {
+    this.vertx = vertx;
+    this.delegate = delegate;
+    this.lastGood = lastGood;
+    this.maxStaleMs = maxStaleMs;
+    this.serveStaleAfterMs = serveStaleAfterMs;
+    this.revalidateMs = revalidateMs;
+    this.staleServed = metrics.counter("fx_stale_served_total");
+    this.revalidations = metrics.counter("fx_stale_revalidations_total");
+    metrics.gauge("fx_stale_pairs", revalidating::size);
+  }
+
+  @Override
+  public Future<Double> getRate(String fromCurrency, String toCurrency) {
+    return lookup(fromCurrency, toCurrency).map(FxRate::getRate);
+  }
+
+  @Override
+  public Future<FxRate> lookup(String fromCurrency, String toCurrency) {
+    return lookup(fromCurrency, toCurrency, Deadline.NONE);
+  }
+
+  @Override
+  public Future<FxRate> lookup(String fromCurrency, String toCurrency, Deadline deadline) {
+    CurrencyPair pair = new CurrencyPair(fromCurrency, toCurrency);
+    TtlCache.Entry<Double> last = lastGood.getEntry(pair);
+    if (last != null && revalidating.contains(pair)) {
+      staleServed.increment();
+      return Future.succeededFuture(FxRate.stale(last.getValue()));
+    }
+
+    // Out of budget is one more failure to fall back from
+    Future<FxRate> fresh = refresh(pair, deadline);
+    // Nothing to fall back on, or already answered (cache and table hits): no timer needed
+    if (last == null || fresh.succeeded()) {
+      return fresh;
+    }
+
+    Promise<FxRate> result = Promise.promise();
+    long timerId =
+        vertx.setTimer(
+            serveStaleAfterMs,
+            id -> {
+              if (serveStale(result, last)) {
+                revalidate(pair, fresh);
+              }
+            });
+    fresh.onComplete(
+        ar -> {
+          vertx.cancelTimer(timerId);
+          if (ar.succeeded()) {
+            result.tryComplete(ar.result());
+          } else if (serveStale(result, last)) {
+            revalidate(pair, fresh);
+          }
+        });
+    return result.future();
+  }
+
+  private boolean serveStale(Promise<FxRate> result, TtlCache.Entry<Double> last) {
+    if (result.tryComplete(FxRate.stale(last.getValue()))) {
+      staleServed.increment();
+      return true;
+    }
+    return false;
+  }
+
+  private Future<FxRate> refresh(CurrencyPair pair, Deadline deadline) {
+    // An already-stale answer (an aging rate table) keeps its flag and isn't a new good rate
+    return delegate
+        .lookup(pair.getFrom(), pair.getTo(), deadline)
+        .onSuccess(
+            fx -> {
+              if (!fx.isStale()) {
+                lastGood.put(pair, fx.getRate(), maxStaleMs);
+              }
+            });
+  }
+
+  /** Puts the pair on stale rates until {@code attempt}, or a later retry, brings a fresh one. */
+  private void revalidate(CurrencyPair pair, Future<FxRate> attempt) {
+    if (revalidating.add(pair)) {
+      log.warn("FX lookups for {} failing or slow, serving the last good rate", pair);
+      awaitRefresh(pair, attempt);
+    }
+  }
+
+  private void awaitRefresh(CurrencyPair pair, Future<FxRate> attempt) {
+    attempt.onComplete(
+        ar -> {
+          if (ar.succeeded()) {
+            revalidating.remove(pair);
+            log.info("FX rate for {} is fresh again", pair);
+          } else if (lastGood.getEntry(pair) == null) {
+            // Too old to serve now: back to waiting on the upstream like any other lookup
+            revalidating.remove(pair);
+            log.warn("Last good FX rate for {} expired, no longer serving it", pair);
+          } else {
+            vertx.setTimer(
+                revalidateMs,
+                id -> {
+                  revalidations.increment();
+                  // No quote is waiting on a background retry, so no deadline either
+                  awaitRefresh(pair, refresh(pair, Deadline.NONE));
+                });
+          }
+        });
+  }
+}
@@ -0,0 +1,79 @@
+package me.hajk1.infrastructure.cache;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import lombok.Value;
+
+/**
+ * Bounded LRU map with a per-entry expiry. Access is synchronized so a single instance can be
+ * shared by every event loop; critical sections are a hash lookup, so contention stays low.
+ */
+public class TtlCache<K, V> {
+
+  private final LongSupplier clock;
+  private final LongAdder evictions = new LongAdder();
+  private final LinkedHashMap<K, Entry<V>> entries;
+
+  public TtlCache(int maxEntries) {
+    this(maxEntries, System::currentTimeMillis);
+  }
+
+  public TtlCache(int maxEntries, LongSupplier clock) {
+    this.clock = clock;
+    // Access order turns the LinkedHashMap into an LRU list
+    this.entries =
+        new LinkedHashMap<>(16, 0.75f, true) {
+          @Override
+          protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+            if (size() > maxEntries) {
+              evictions.increment();
+              return true;
+            }
+            return false;
+          }
+        };
+  }
+
+  /** Returns the live entry for the key, or null if it is absent or has expired. */
+  public synchronized Entry<V> getEntry(K key) {
+    Entry<V> entry = entries.get(key);
+    if (entry == null) {
+      return null;
+    }
+    if (entry.getExpiresAt() <= clock.getAsLong()) {
+      entries.remove(key);
+      return null;
+    }
+    return entry;
+  }
+
+  public synchronized void put(K key, V value, long ttlMs) {
+    long now = clock.getAsLong();
+    entries.put(key, new Entry<>(value, now, now + ttlMs));
+  }
+
+  public synchronized void invalidate(K key) {
+    entries.remove(key);
+  }
+
+  public synchronized int size() {
+    return entries.size();
+  }
+
+  public long evictions() {
+    return evictions.sum();
+  }
+
+  public long now() {
+    return clock.getAsLong();
+  }
+
+  @Value
+  public static class Entry<V> {
+    V value;
+    long writtenAt;
+    long expiresAt;
+  }
+}
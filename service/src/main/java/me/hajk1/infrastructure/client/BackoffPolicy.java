@@ -0,0 +1,25 @@
+package me.hajk1.infrastructure.client;
+
+import java.util.concurrent.ThreadLocalRandom;
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * Exponential backoff with full jitter: the delay before retry {@code n} is uniform in {@code [0,
+ * min(maxDelayMs, initialDelayMs * multiplier^(n-1))]}. Jitter spreads retries from many callers
+ * instead of having them hit a recovering service in lockstep.
+ */
+@Value
+@Builder
+public class BackoffPolicy {
+  long initialDelayMs;
+  long maxDelayMs;
+  double multiplier;
+
+  /** Delay before the given retry, where the first retry is number 1. */
+  public long delayBeforeRetry(int retryNumber) {
+    double ceiling = initialDelayMs * Math.pow(multiplier, retryNumber - 1);
+    long cap = (long) Math.min(maxDelayMs, ceiling);
+    return cap <= 0 ? 0 : ThreadLocalRandom.current().nextLong(cap + 1);
+  }
+}
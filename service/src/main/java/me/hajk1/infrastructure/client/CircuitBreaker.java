@@ -0,0 +1,116 @@
+package me.hajk1.infrastructure.client;
+
+import java.util.Locale;
+import java.util.function.LongSupplier;
+import lombok.extern.slf4j.Slf4j;
+import me.hajk1.infrastructure.metrics.MetricsRegistry;
+
+/**
+ * Closed/open/half-open breaker for one dependency.
+ *
+ * <ul>
+ *   <li>CLOSED: calls pass; {@code failureThreshold} consecutive failures open the breaker.
+ *   <li>OPEN: calls fail fast for {@code openDurationMs}, then one trial call is let through.
+ *   <li>HALF_OPEN: the trial's outcome closes the breaker again or reopens it.
+ * </ul>
+ *
+ * Shared by all verticle instances, so methods are synchronized; each is a few field updates.
+ */
+@Slf4j
+public class CircuitBreaker {
+
+  public enum State {
+    CLOSED,
+    OPEN,
+    HALF_OPEN
+  }
+
+  private final String dependency;
+  private final int failureThreshold;
+  private final long openDurationMs;
+  private final LongSupplier clock;
+  private final MetricsRegistry metrics;
+
+  private State state = State.CLOSED;
+  private int consecutiveFailures;
+  private long openedAt;
+  private long trialStartedAt = -1;
+
+  public CircuitBreaker(
+      String dependency, int failureThreshold, long openDurationMs, MetricsRegistry metrics) {
+    this(dependency, failureThreshold, openDurationMs, metrics, System::currentTimeMillis);
+  }
+
+  public CircuitBreaker(
+      String dependency,
+      int failureThreshold,
+      long openDurationMs,
+      MetricsRegistry metrics,
+      LongSupplier clock) {
+    this.dependency = dependency;
+    this.failureThreshold = failureThreshold;
+    this.openDurationMs = openDurationMs;
+    this.metrics = metrics;
+    this.clock = clock;
+    metrics.gauge(
+        "circuit_breaker_state{dependency=\"" + dependency + "\"}", () -> state().ordinal());
+  }
+
+  /** Returns true if a call may go ahead; false means fail fast. */
+  public synchronized boolean tryAcquire() {
+    long now = clock.getAsLong();
+    switch (state) {
+      case CLOSED:
+        return true;
+      case OPEN:
+        if (now - openedAt < openDurationMs) {
+          return false;
+        }
+        transitionTo(State.HALF_OPEN);
+        trialStartedAt = now;
+        return true;
+      default:
+        // One trial at a time; a trial that never reported back doesn't block forever
+        if (trialStartedAt >= 0 && now - trialStartedAt < openDurationMs) {
+          return false;
+        }
+        trialStartedAt = now;
+        return true;
+    }
+  }
+
+  public synchronized void onSuccess() {
+    consecutiveFailures = 0;
+    trialStartedAt = -1;
+    if (state != State.CLOSED) {
+      transitionTo(State.CLOSED);
+    }
+  }
+
+  public synchronized void onFailure() {
+    trialStartedAt = -1;
+    if (state == State.HALF_OPEN
+        || (state == State.CLOSED && ++consecutiveFailures >= failureThreshold)) {
+      openedAt = clock.getAsLong();
+      transitionTo(State.OPEN);
+    }
+  }
+
+  public synchronized State state() {
+    return state;
+  }
+
+  private void transitionTo(State next) {
+    log.warn("Circuit breaker for {}: {} -> {}", dependency, state, next);
+    state = next;
+    consecutiveFailures = 0;
+    metrics
+        .counter(
+            "circuit_breaker_transitions_total{dependency=\""
+                + dependency
+                + "\",state=\""
+                + next.name().toLowerCase(Locale.ROOT)
+                + "\"}")
+        .increment();
+  }
+}
@@ -0,0 +1,8 @@
+package me.hajk1.infrastructure.client;
+
+/** Fast failure while a dependency's circuit breaker is open. Expected, so no stack trace. */
+public class CircuitOpenException extends RuntimeException {
+  public CircuitOpenException(String dependency) {
+    super("Circuit breaker open for " + dependency, null, false, false);
+  }
+}
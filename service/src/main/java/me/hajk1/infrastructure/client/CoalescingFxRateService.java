@@ -0,0 +1,124 @@
+package me.hajk1.infrastructure.client;
+
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import me.hajk1.domain.model.CurrencyPair;
+import me.hajk1.domain.model.Deadline;
+import me.hajk1.domain.model.FxRate;
+import me.hajk1.domain.service.DeadlineExceededException;
+import me.hajk1.domain.service.FxRateService;
+import me.hajk1.infrastructure.metrics.MetricsRegistry;
+
+/**
+ * Single-flight wrapper: concurrent lookups for the same pair share one outstanding upstream call
+ * (retries included), so a cold start or cache expiry costs one FX request per pair, not one per
+ * quote.
+ *
+ * <p>The shared call runs on the server's own budget ({@code sharedDeadline}), not on whichever
+ * quote happened to start it: one client sending a tiny timeout mustn't fail every concurrent
+ * quote for the pair. Each caller's own {@link Deadline} only limits how long that caller waits.
+ *
+ * <p>Keep one instance per verticle: the shared future completes on the event loop that started the
+ * call, so sharing it across instances would move callers onto another loop.
+ */
+public class CoalescingFxRateService implements FxRateService {
+
+  private final Vertx vertx;
+  private final FxRateService delegate;
+  private final Supplier<Deadline> sharedDeadline;
+  private final Map<CurrencyPair, Future<Double>> inFlight = new ConcurrentHashMap<>();
+  private final LongAdder coalesced;
+  private final LongAdder inFlightLookups;
+  private final LongAdder deadlineExceeded;
+
+  public CoalescingFxRateService(
+      Vertx vertx,
+      FxRateService delegate,
+      Supplier<Deadline> sharedDeadline,
+      MetricsRegistry metrics) {
+    this.vertx = vertx;
+    this.delegate = delegate;
+    this.sharedDeadline = sharedDeadline;
+    this.coalesced = metrics.counter("fx_coalesced_requests_total");
+    this.inFlightLookups = metrics.gauge("fx_inflight_lookups");
+    this.deadlineExceeded = metrics.counter("fx_deadline_exceeded_total");
+  }
+
+  @Override
+  public Future<Double> getRate(String fromCurrency, String toCurrency) {
+    return rate(fromCurrency, toCurrency, Deadline.NONE);
+  }
+
+  @Override
+  public Future<FxRate> lookup(String fromCurrency, String toCurrency, Deadline deadline) {
+    return rate(fromCurrency, toCurrency, deadline).map(FxRate::fresh);
+  }
+
+  private Future<Double> rate(String fromCurrency, String toCurrency, Deadline deadline) {
+    if (deadline.isExpired()) {
+      deadlineExceeded.increment();
+      return Future.failedFuture(new DeadlineExceededException("fx"));
+    }
+    return within(shared(fromCurrency, toCurrency), deadline);
+  }
+
+  private Future<Double> shared(String fromCurrency, String toCurrency) {
+    CurrencyPair pair = new CurrencyPair(fromCurrency, toCurrency);
+    Future<Double> pending = inFlight.get(pair);
+    if (pending != null) {
+      coalesced.increment();
+      return pending;
+    }
+
+    Future<Double> future =
+        delegate.lookup(fromCurrency, toCurrency, sharedDeadline.get()).map(FxRate::getRate);
+    // A future that completed synchronously has nothing left to share
+    if (!future.isComplete()) {
+      inFlight.put(pair, future);
+      inFlightLookups.increment();
+      future.onComplete(
+          ar -> {
+            inFlight.remove(pair, future);
+            inFlightLookups.decrement();
+          });
+    }
+    return future;
+  }
+
+  /** This caller's view of the shared call: fails on its own deadline, leaves the call running. */
+  private Future<Double> within(Future<Double> shared, Deadline deadline) {
+    if (shared.isComplete() || !deadline.isBounded()) {
+      return shared;
+    }
+    // Expired since rate() checked: setTimer would reject the 0 and turn this into a 500
+    long remainingMs = deadline.remainingMs();
+    if (remainingMs == 0) {
+      deadlineExceeded.increment();
+      return Future.failedFuture(new DeadlineExceededException("fx"));
+    }
+    Promise<Double> result = Promise.promise();
+    long timerId =
+        vertx.setTimer(
+            remainingMs,
+            id -> {
+              if (result.tryFail(new DeadlineExceededException("fx"))) {
+                deadlineExceeded.increment();
+              }
+            });
+    shared.onComplete(
+        ar -> {
+          vertx.cancelTimer(timerId);
+          if (ar.succeeded()) {
+            result.tryComplete(ar.result());
+          } else {
+            result.tryFail(ar.cause());
+          }
+        });
+    return result.future();
+  }
+}
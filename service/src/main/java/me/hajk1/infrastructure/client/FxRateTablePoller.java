@@ -0,0 +1,115 @@
+package me.hajk1.infrastructure.client;
+
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.ext.web.client.WebClient;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import lombok.Builder;
+import lombok.extern.slf4j.Slf4j;
+import me.hajk1.infrastructure.cache.FxRateTable;
+import me.hajk1.infrastructure.metrics.MetricsRegistry;
+
+/**
+ * Polls the FX service's bulk endpoint ({@code GET /fx/rates/table?to=AED}) every {@code
+ * intervalMs} and publishes the result as a fresh {@link FxRateTable}. The volatile write is the
+ * whole swap. A failed poll keeps the previous table; how old it may get before quotes stop using
+ * it is up to {@code FxRateTableService}.
+ *
+ * <p>{@code onPublish}, if set, sees every new table (the quote cache uses it to drop quotes on
+ * rates that moved). One poller per Vert.x, shared by all verticle instances through {@code
+ * SharedState}.
+ */
+@Slf4j
+public class FxRateTablePoller {
+
+  private final Vertx vertx;
+  private final WebClient webClient;
+  private final String baseUrl;
+  private final String target;
+  private final long intervalMs;
+  private final long timeoutMs;
+  private final Consumer<FxRateTable> onPublish;
+
+  private final LongAdder polls;
+  private final LongAdder failures;
+
+  private volatile FxRateTable table;
+  private Future<Void> firstPoll;
+
+  @Builder
+  private FxRateTablePoller(
+      Vertx vertx,
+      WebClient webClient,
+      String baseUrl,
+      String target,
+      long intervalMs,
+      long timeoutMs,
+      Consumer<FxRateTable> onPublish,
+      MetricsRegistry metrics) {
+    this.vertx = vertx;
+    this.webClient = webClient;
+    this.baseUrl = baseUrl;
+    this.target = target;
+    this.intervalMs = intervalMs;
+    this.timeoutMs = timeoutMs;
+    this.onPublish = onPublish;
+    this.polls = metrics.counter("fx_table_polls_total");
+    this.failures = metrics.counter("fx_table_poll_failures_total");
+    metrics.gauge("fx_table_pairs", () -> table == null ? 0 : table.getRates().size());
+    metrics.gauge(
+        "fx_table_age_ms",
+        () -> table == null ? -1 : System.currentTimeMillis() - table.getFetchedAtMs());
+  }
+
+  /** The latest table, or null until a poll has succeeded. */
+  public FxRateTable current() {
+    return table;
+  }
+
+  /** Polls now and every {@code intervalMs} from then on. */
+  public synchronized void start() {
+    if (firstPoll == null) {
+      firstPoll = poll();
+      vertx.setPeriodic(intervalMs, id -> poll());
+    }
+  }
+
+  /** Completes once the first poll is done, whether or not it got a table. Never fails. */
+  public synchronized Future<Void> firstPoll() {
+    return firstPoll;
+  }
+
+  private Future<Void> poll() {
+    polls.increment();
+    return webClient
+        .getAbs(baseUrl + "/fx/rates/table")
+        .addQueryParam("to", target)
+        .timeout(timeoutMs)
+        .send()
+        .compose(
+            response -> {
+              if (response.statusCode() != 200) {
+                return Future.failedFuture("FX rate table returned: " + response.statusCode());
+              }
+              return Future.succeededFuture(UpstreamJson.fxRateTable(response.body()));
+            })
+        .onSuccess(this::publish)
+        .onFailure(
+            ex -> {
+              failures.increment();
+              log.warn("FX rate table poll failed, keeping the last table: {}", ex.getMessage());
+            })
+        .<Void>mapEmpty()
+        .otherwiseEmpty();
+  }
+
+  private void publish(Map<String, Double> rates) {
+    table = new FxRateTable(target, rates, System.currentTimeMillis());
+    log.debug("FX rate table updated: {} pairs into {}", rates.size(), target);
+    if (onPublish != null) {
+      onPublish.accept(table);
+    }
+  }
+}
@@ -0,0 +1,189 @@
+package me.hajk1.infrastructure.client;
+
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.ext.web.client.HttpRequest;
+import io.vertx.ext.web.client.WebClient;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import lombok.Builder;
+import lombok.extern.slf4j.Slf4j;
+import me.hajk1.domain.model.Deadline;
+import me.hajk1.domain.model.FxRate;
+import me.hajk1.domain.service.DeadlineExceededException;
+import me.hajk1.domain.service.FxRateService;
+import me.hajk1.infrastructure.metrics.Histogram;
+import me.hajk1.infrastructure.metrics.MetricsRegistry;
+
+/**
+ * FX client with retries on 5xx. Each attempt times out after {@code timeoutMs}, or sooner if the
+ * quote's {@link Deadline} comes first, and a retry is only scheduled if the deadline leaves room
+ * for it after the backoff - so a quote waits at most its own budget, however many attempts are
+ * configured.
+ */
+@Slf4j
+public class HttpFxRateService implements FxRateService {
+
+  private final Vertx vertx;
+  private final WebClient webClient;
+  private final String baseUrl;
+  private final long timeoutMs;
+  private final int maxAttempts;
+  private final BackoffPolicy backoff;
+  private final RetryBudget retryBudget;
+  private final CircuitBreaker circuitBreaker;
+  private final PoolUsage poolUsage;
+
+  private final Histogram latencyMicros;
+  private final LongAdder retries;
+  private final LongAdder budgetExhausted;
+  private final LongAdder deadlineExceeded;
+
+  @Builder
+  private HttpFxRateService(
+      Vertx vertx,
+      WebClient webClient,
+      String baseUrl,
+      long timeoutMs,
+      int maxAttempts,
+      BackoffPolicy backoff,
+      RetryBudget retryBudget,
+      CircuitBreaker circuitBreaker,
+      PoolUsage poolUsage,
+      MetricsRegistry metrics) {
+    this.vertx = vertx;
+    this.webClient = webClient;
+    this.baseUrl = baseUrl;
+    this.timeoutMs = timeoutMs;
+    this.maxAttempts = maxAttempts;
+    this.backoff = backoff;
+    this.retryBudget = retryBudget;
+    this.circuitBreaker = circuitBreaker;
+    this.poolUsage = poolUsage;
+    this.latencyMicros = metrics.histogram("fx_latency_us");
+    this.retries = metrics.counter("fx_retries_total");
+    this.budgetExhausted = metrics.counter("fx_retry_budget_exhausted_total");
+    this.deadlineExceeded = metrics.counter("fx_deadline_exceeded_total");
+  }
+
+  @Override
+  public Future<Double> getRate(String fromCurrency, String toCurrency) {
+    return fetch(fromCurrency, toCurrency, Deadline.NONE);
+  }
+
+  @Override
+  public Future<FxRate> lookup(String fromCurrency, String toCurrency, Deadline deadline) {
+    return fetch(fromCurrency, toCurrency, deadline).map(FxRate::fresh);
+  }
+
+  private Future<Double> fetch(String from, String to, Deadline deadline) {
+    retryBudget.recordRequest();
+    return fetchWithRetry(from, to, 1, deadline)
+        .recover(
+            ex -> {
+              // Whatever the last attempt died of, a quote that is out of time gets told so
+              if (!deadline.isExpired()) {
+                return Future.failedFuture(ex);
+              }
+              deadlineExceeded.increment();
+              return Future.failedFuture(new DeadlineExceededException("fx"));
+            });
+  }
+
+  private Future<Double> fetchWithRetry(
+      String from, String to, int attemptNumber, Deadline deadline) {
+    log.debug("Fetching FX rate: {} -> {} (attempt {}/{})", from, to, attemptNumber, maxAttempts);
+
+    if (deadline.isExpired()) {
+      return Future.failedFuture(new DeadlineExceededException("fx"));
+    }
+
+    // Checked per attempt, so retries stop as soon as the breaker opens
+    if (!circuitBreaker.tryAcquire()) {
+      return Future.failedFuture(new CircuitOpenException("fx"));
+    }
+
+    long startNanos = System.nanoTime();
+    poolUsage.requestStarted();
+    HttpRequest<Buffer> request =
+        webClient.getAbs(baseUrl + "/fx/rates").addQueryParam("from", from).addQueryParam("to", to);
+    long attemptTimeoutMs = deadline.cap(timeoutMs > 0 ? timeoutMs : Long.MAX_VALUE);
+    if (attemptTimeoutMs != Long.MAX_VALUE) {
+      request.timeout(attemptTimeoutMs);
+    }
+    return request
+        .send()
+        .onComplete(
+            ar -> {
+              poolUsage.requestEnded(ar.cause());
+              if (ar.failed() && PoolUsage.isRejected(ar.cause())) {
+                return; // Our own wait queue is full, the FX service may be fine
+              }
+              // Per attempt, so a slow retry shows up here and not just in the quote total
+              latencyMicros.record(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - startNanos));
+              if (ar.failed() && deadline.isExpired()) {
+                return; // Cut short by the quote's deadline, not necessarily the FX service's fault
+              }
+              if (ar.failed() || ar.result().statusCode() >= 500) {
+                circuitBreaker.onFailure();
+              } else {
+                circuitBreaker.onSuccess();
+              }
+            })
+        .compose(
+            response -> {
+              // Success case
+              if (response.statusCode() == 200) {
+                // Streams the body for just the rate; FxRateResponse documents the full shape
+                double rate = UpstreamJson.fxRate(response.body());
+                log.debug("FX rate received: {}", rate);
+                return Future.succeededFuture(rate);
+              }
+
+              // Retry on 5xx errors only (server errors, not client errors)
+              if (response.statusCode() >= 500 && attemptNumber < maxAttempts) {
+                long delayMs = backoff.delayBeforeRetry(attemptNumber);
+                if (delayMs >= deadline.remainingMs()) {
+                  // The retry couldn't even start in time - fail now instead of sleeping on it
+                  log.warn("FX retry would outlive the quote deadline (attempt {})", attemptNumber);
+                } else if (retryBudget.tryAcquireRetry()) {
+                  retries.increment();
+                  log.warn(
+                      "FX service error ({}), retrying in {}ms... (attempt {}/{})",
+                      response.statusCode(),
+                      delayMs,
+                      attemptNumber,
+                      maxAttempts);
+                  return retryAfter(delayMs, from, to, attemptNumber + 1, deadline);
+                } else {
+                  // Retries are already a large share of traffic - don't add to an outage
+                  budgetExhausted.increment();
+                  log.warn("FX retry budget exhausted, not retrying (attempt {})", attemptNumber);
+                }
+              }
+
+              // Note: Originally had a .recover() block here too, which caused double retries
+              // (15 attempts instead of 3!). Took me a while to debug with WireMock verify.
+              // Lesson learned: handle everything in compose() to avoid duplicate retry logic.
+              String error =
+                  String.format(
+                      "FX service returned: %d after %d attempts",
+                      response.statusCode(), attemptNumber);
+              log.error(error);
+              return Future.failedFuture(error);
+            });
+    // Removed recover block entirely - HTTP errors are handled in compose
+  }
+
+  private Future<Double> retryAfter(
+      long delayMs, String from, String to, int attemptNumber, Deadline deadline) {
+    if (delayMs <= 0) {
+      return fetchWithRetry(from, to, attemptNumber, deadline);
+    }
+    Promise<Void> timer = Promise.promise();
+    vertx.setTimer(delayMs, id -> timer.complete());
+    return timer.future().compose(v -> fetchWithRetry(from, to, attemptNumber, deadline));
+  }
+}
@@ -0,0 +1,332 @@
+package me.hajk1.infrastructure.client;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpClient;
+import io.vertx.core.http.HttpClientRequest;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.core.http.RequestOptions;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import lombok.Builder;
+import lombok.extern.slf4j.Slf4j;
+import me.hajk1.domain.model.Deadline;
+import me.hajk1.domain.model.PromoDetails;
+import me.hajk1.domain.model.PromoLookup;
+import me.hajk1.domain.service.DeadlineExceededException;
+import me.hajk1.domain.service.PromoService;
+import me.hajk1.infrastructure.metrics.Histogram;
+import me.hajk1.infrastructure.metrics.MetricsRegistry;
+
+/**
+ * Promo client. Uses the core {@link HttpClient} rather than WebClient so a losing hedge request
+ * can be reset instead of left running.
+ *
+ * <p>With hedging on, a lookup that hasn't answered within the {@code hedgePercentile} of recent
+ * promo latencies gets a second request, and whichever answers first wins. Hedges draw from
+ * {@code hedgeBudget}, so they stay a bounded share of promo traffic. The percentile is worked out
+ * every {@code hedgeRefreshMs} on a timer - reading it scans the whole histogram, too much to do
+ * per lookup - and lookups just read the last value. Attempts that time out or fail without a
+ * body go into the latencies too, at their elapsed time capped at the attempt timeout; losers we
+ * reset ourselves and attempts cut short by the quote's deadline don't.
+ *
+ * <p>A 404 is an answer, not a failure: it comes back as {@link PromoLookup#notFound()} all the
+ * way up, and only errors and timeouts travel as failed futures inside this class.
+ *
+ * <p>A lookup gets {@code timeoutMs} or what is left of the quote's {@link Deadline}, whichever is
+ * less, hedge included; out of time, the quote goes on without its promo.
+ */
+@Slf4j
+public class HttpPromoService implements PromoService {
+
+  private static final PromoLookup CIRCUIT_OPEN =
+      PromoLookup.error(new CircuitOpenException("promo"));
+  private static final PromoLookup DEADLINE_EXCEEDED =
+      PromoLookup.error(new DeadlineExceededException("promo"));
+
+  private final Vertx vertx;
+  private final HttpClient httpClient;
+  private final String baseUrl;
+  private final long timeoutMs;
+  private final CircuitBreaker circuitBreaker;
+  private final PoolUsage poolUsage;
+  private final Histogram latencyMicros;
+
+  private final boolean hedging;
+  private final double hedgePercentile;
+  private final long hedgeMinDelayMs;
+  private final long hedgeMinSamples;
+  private final RetryBudget hedgeBudget;
+
+  // -1 until there are enough samples to hedge on
+  private volatile long hedgeDelayMs = -1;
+
+  private final LongAdder hedges;
+  private final LongAdder hedgeWins;
+  private final LongAdder hedgeBudgetExhausted;
+  private final LongAdder deadlineExceeded;
+
+  @Builder
+  private HttpPromoService(
+      Vertx vertx,
+      HttpClient httpClient,
+      String baseUrl,
+      long timeoutMs,
+      CircuitBreaker circuitBreaker,
+      PoolUsage poolUsage,
+      boolean hedging,
+      double hedgePercentile,
+      long hedgeMinDelayMs,
+      long hedgeMinSamples,
+      long hedgeRefreshMs,
+      RetryBudget hedgeBudget,
+      MetricsRegistry metrics) {
+    this.vertx = vertx;
+    this.httpClient = httpClient;
+    this.baseUrl = baseUrl;
+    this.timeoutMs = timeoutMs;
+    this.circuitBreaker = circuitBreaker;
+    this.poolUsage = poolUsage;
+    this.hedging = hedging;
+    this.hedgePercentile = hedgePercentile;
+    this.hedgeMinDelayMs = hedgeMinDelayMs;
+    this.hedgeMinSamples = hedgeMinSamples;
+    this.hedgeBudget = hedgeBudget;
+    this.latencyMicros = metrics.histogram("promo_latency_us");
+    this.hedges = metrics.counter("promo_hedges_total");
+    this.hedgeWins = metrics.counter("promo_hedge_wins_total");
+    this.hedgeBudgetExhausted = metrics.counter("promo_hedge_budget_exhausted_total");
+    this.deadlineExceeded = metrics.counter("promo_deadline_exceeded_total");
+    if (hedging) {
+      // A verticle's timers go away with it on undeploy
+      vertx.setPeriodic(hedgeRefreshMs, id -> refreshHedgeDelay());
+    }
+  }
+
+  @Override
+  public Future<PromoDetails> getPromoDetails(String promoCode) {
+    return lookup(promoCode).compose(lookup -> PromoService.toDetails(promoCode, lookup));
+  }
+
+  @Override
+  public Future<PromoLookup> lookup(String promoCode) {
+    return lookup(promoCode, Deadline.NONE);
+  }
+
+  @Override
+  public Future<PromoLookup> lookup(String promoCode, Deadline deadline) {
+    log.debug("Fetching promo details for: {}", promoCode);
+
+    // Promo is optional - while it's down, or the quote is out of time, skip straight to the
+    // no-promo degradation
+    if (deadline.isExpired()) {
+      deadlineExceeded.increment();
+      return Future.succeededFuture(DEADLINE_EXCEEDED);
+    }
+    if (!circuitBreaker.tryAcquire()) {
+      return Future.succeededFuture(CIRCUIT_OPEN);
+    }
+
+    long lookupTimeoutMs = deadline.cap(timeoutMs);
+    long hedgeDelayMs = hedgeDelayMs(lookupTimeoutMs);
+    Future<PromoLookup> outcome =
+        hedgeDelayMs < 0
+            ? new Attempt(promoCode, lookupTimeoutMs, deadline).outcome
+            : new HedgedLookup(promoCode, lookupTimeoutMs, hedgeDelayMs, deadline).start();
+    return outcome.otherwise(
+        ex -> {
+          if (deadline.isExpired()) {
+            deadlineExceeded.increment();
+            return DEADLINE_EXCEEDED;
+          }
+          return PromoLookup.error(ex);
+        });
+  }
+
+  /** Delay before hedging a lookup that times out after {@code lookupTimeoutMs}, or -1. */
+  private long hedgeDelayMs(long lookupTimeoutMs) {
+    if (!hedging) {
+      return -1;
+    }
+    hedgeBudget.recordRequest();
+    long delayMs = hedgeDelayMs;
+    // A hedge that would only start once the first request has timed out is pointless
+    return delayMs < lookupTimeoutMs ? delayMs : -1;
+  }
+
+  private void refreshHedgeDelay() {
+    // With only a handful of recent samples the percentile is noise - don't hedge on it
+    if (latencyMicros.count() < hedgeMinSamples) {
+      hedgeDelayMs = -1;
+      return;
+    }
+    long percentileMs =
+        TimeUnit.MICROSECONDS.toMillis(latencyMicros.valueAtPercentile(hedgePercentile));
+    // Sub-millisecond promo latencies round to 0, and setTimer rejects anything under 1 ms
+    hedgeDelayMs = Math.max(1, Math.max(hedgeMinDelayMs, percentileMs));
+  }
+
+  private Future<PromoLookup> toLookup(String promoCode, int statusCode, Buffer body) {
+    if (statusCode == 200) {
+      return Future.succeededFuture(PromoLookup.found(UpstreamJson.promoDetails(promoCode, body)));
+    } else if (statusCode == 404) {
+      // Invalid promo codes are not errors - just mean no promo applies
+      // This is intentional graceful degradation
+      return Future.succeededFuture(PromoLookup.notFound());
+    } else {
+      return Future.failedFuture("Promo service error: " + statusCode);
+    }
+  }
+
+  /** One HTTP request for a promo code. */
+  private final class Attempt {
+    private final Future<HttpClientRequest> request;
+    private final Future<PromoLookup> outcome;
+    private final Deadline deadline;
+    private final long attemptTimeoutMs;
+    private final long startNanos = System.nanoTime();
+    private boolean cancelled;
+    private boolean recorded;
+
+    Attempt(String promoCode, long attemptTimeoutMs, Deadline deadline) {
+      this.deadline = deadline;
+      this.attemptTimeoutMs = attemptTimeoutMs;
+      poolUsage.requestStarted();
+      request =
+          httpClient.request(
+              new RequestOptions()
+                  .setMethod(HttpMethod.GET)
+                  .setAbsoluteURI(baseUrl + "/promo/" + promoCode)
+                  .setTimeout(attemptTimeoutMs));
+      outcome =
+          request
+              .compose(req -> req.send())
+              .compose(
+                  response ->
+                      response
+                          .body()
+                          .compose(
+                              body -> {
+                                recordLatency();
+                                return toLookup(promoCode, response.statusCode(), body);
+                              }))
+              .onComplete(this::recordOutcome);
+    }
+
+    private void recordOutcome(AsyncResult<PromoLookup> ar) {
+      poolUsage.requestEnded(ar.cause());
+      if (cancelled) {
+        return; // We reset it ourselves, says nothing about the promo service
+      }
+      if (ar.failed() && PoolUsage.isRejected(ar.cause())) {
+        return; // Our own wait queue is full, the promo service may be fine
+      }
+      if (ar.failed() && deadline.isExpired()) {
+        return; // Cut short by the quote's deadline, not necessarily the promo service's fault
+      }
+      if (!recorded) {
+        // Timed out or reset by the server: leaving it out would pull the hedge delay down just
+        // as the promo service slows, so it counts at up to the attempt timeout
+        recordLatency();
+      }
+      // A 404 is a healthy answer, only errors and timeouts count against the breaker
+      if (ar.succeeded()) {
+        circuitBreaker.onSuccess();
+      } else {
+        circuitBreaker.onFailure();
+      }
+    }
+
+    private void recordLatency() {
+      recorded = true;
+      long elapsedMicros = (System.nanoTime() - startNanos) / 1_000;
+      latencyMicros.record(
+          Math.min(elapsedMicros, TimeUnit.MILLISECONDS.toMicros(attemptTimeoutMs)));
+    }
+
+    void cancel() {
+      if (!outcome.isComplete()) {
+        cancelled = true;
+        request.onSuccess(HttpClientRequest::reset);
+      }
+    }
+  }
+
+  /**
+   * Primary request plus at most one hedge. Everything runs on the caller's event loop, so the
+   * plain fields need no synchronization.
+   */
+  private final class HedgedLookup {
+    private final String promoCode;
+    private final long timeoutMs;
+    private final long delayMs;
+    private final Deadline deadline;
+    private final Promise<PromoLookup> result = Promise.promise();
+
+    private Attempt primary;
+    private Attempt hedge;
+    private long timerId;
+    private int pending;
+
+    HedgedLookup(String promoCode, long timeoutMs, long delayMs, Deadline deadline) {
+      this.promoCode = promoCode;
+      this.timeoutMs = timeoutMs;
+      this.delayMs = delayMs;
+      this.deadline = deadline;
+    }
+
+    Future<PromoLookup> start() {
+      primary = launch(timeoutMs);
+      timerId = vertx.setTimer(delayMs, id -> sendHedge());
+      return result.future();
+    }
+
+    private Attempt launch(long attemptTimeoutMs) {
+      Attempt attempt = new Attempt(promoCode, attemptTimeoutMs, deadline);
+      pending++;
+      attempt.outcome.onComplete(ar -> settle(attempt, ar));
+      return attempt;
+    }
+
+    private void sendHedge() {
+      if (result.future().isComplete()) {
+        return;
+      }
+      if (!circuitBreaker.tryAcquire()) {
+        return;
+      }
+      if (!hedgeBudget.tryAcquireRetry()) {
+        hedgeBudgetExhausted.increment();
+        return;
+      }
+      hedges.increment();
+      log.debug("Promo lookup for {} slower than {}ms, hedging", promoCode, delayMs);
+      // Same overall deadline as an unhedged lookup
+      hedge = launch(timeoutMs - delayMs);
+    }
+
+    private void settle(Attempt attempt, AsyncResult<PromoLookup> ar) {
+      pending--;
+      if (result.future().isComplete()) {
+        return;
+      }
+      // On an error, give the other request (if any) the chance to answer
+      if (ar.failed() && pending > 0) {
+        return;
+      }
+      vertx.cancelTimer(timerId);
+      if (attempt == hedge) {
+        hedgeWins.increment();
+      }
+      // Complete first: resetting the loser fails it synchronously and lands back in here
+      result.handle(ar);
+      Attempt other = attempt == primary ? hedge : primary;
+      if (other != null) {
+        other.cancel();
+      }
+    }
+  }
+}
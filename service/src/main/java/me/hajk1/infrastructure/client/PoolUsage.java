@@ -0,0 +1,60 @@
+package me.hajk1.infrastructure.client;
+
+import io.vertx.core.http.ConnectionPoolTooBusyException;
+import java.util.concurrent.atomic.LongAdder;
+import me.hajk1.infrastructure.metrics.MetricsRegistry;
+
+/**
+ * Pool usage for one dependency's client in one verticle instance. Vert.x doesn't expose pool
+ * stats without a metrics SPI, so this estimates them from our own requests: up to the pool's
+ * capacity they're on a connection, past it they're in the wait queue.
+ *
+ * <p>The counts feed gauges shared by all instances; the in-flight count itself is only touched
+ * from the owning instance's event loop.
+ */
+public class PoolUsage {
+
+  private final int capacity;
+  private final LongAdder inUse;
+  private final LongAdder waiting;
+  private final LongAdder rejected;
+
+  private int inFlight;
+
+  public PoolUsage(String dependency, int capacity, MetricsRegistry metrics) {
+    String labels = "{dependency=\"" + dependency + "\"}";
+    this.capacity = capacity;
+    this.inUse = metrics.gauge("http_client_in_use" + labels);
+    this.waiting = metrics.gauge("http_client_waiting" + labels);
+    this.rejected = metrics.counter("http_client_rejected_total" + labels);
+    metrics.gauge("http_client_capacity" + labels).add(capacity);
+  }
+
+  public void requestStarted() {
+    inFlight++;
+    if (inFlight > capacity) {
+      waiting.increment();
+    } else {
+      inUse.increment();
+    }
+  }
+
+  /** Call once per started request; {@code failure} is null on success. */
+  public void requestEnded(Throwable failure) {
+    // With requests waiting, the freed slot goes to one of them
+    if (inFlight > capacity) {
+      waiting.decrement();
+    } else {
+      inUse.decrement();
+    }
+    inFlight--;
+    if (isRejected(failure)) {
+      rejected.increment();
+    }
+  }
+
+  /** Wait queue full - says nothing about the dependency itself. */
+  public static boolean isRejected(Throwable failure) {
+    return failure instanceof ConnectionPoolTooBusyException;
+  }
+}
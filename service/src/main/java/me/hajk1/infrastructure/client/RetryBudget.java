@@ -0,0 +1,80 @@
+package me.hajk1.infrastructure.client;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Caps retries at a fraction of recent first attempts, over a sliding window split into buckets.
+ * A small floor ({@code minRetriesPerWindow}) keeps retries available at low traffic. Once the
+ * budget is spent, callers fail instead of retrying, so retries cannot multiply the load on a
+ * service that is already struggling.
+ *
+ * <p>One instance is shared by all verticle instances; methods are synchronized and only touch a
+ * handful of counters.
+ */
+public class RetryBudget {
+
+  private static final int BUCKETS = 10;
+
+  private final double retryRatio;
+  private final long minRetriesPerWindow;
+  private final long bucketMs;
+  private final LongSupplier clock;
+
+  private final long[] bucketEpochs = new long[BUCKETS];
+  private final long[] requests = new long[BUCKETS];
+  private final long[] retries = new long[BUCKETS];
+
+  public RetryBudget(double retryRatio, long minRetriesPerWindow, long windowMs) {
+    this(retryRatio, minRetriesPerWindow, windowMs, System::currentTimeMillis);
+  }
+
+  public RetryBudget(
+      double retryRatio, long minRetriesPerWindow, long windowMs, LongSupplier clock) {
+    this.retryRatio = retryRatio;
+    this.minRetriesPerWindow = minRetriesPerWindow;
+    this.bucketMs = Math.max(1, windowMs / BUCKETS);
+    this.clock = clock;
+  }
+
+  /** Records a first attempt, which earns {@code retryRatio} of a retry. */
+  public synchronized void recordRequest() {
+    requests[bucket(epoch())]++;
+  }
+
+  /** Spends one retry from the budget; returns false if none is left. */
+  public synchronized boolean tryAcquireRetry() {
+    long epoch = epoch();
+    int current = bucket(epoch);
+
+    long windowRequests = 0;
+    long windowRetries = 0;
+    for (int i = 0; i < BUCKETS; i++) {
+      // Buckets not written within the window hold stale counts
+      if (epoch - bucketEpochs[i] < BUCKETS) {
+        windowRequests += requests[i];
+        windowRetries += retries[i];
+      }
+    }
+
+    double allowed = Math.max(minRetriesPerWindow, windowRequests * retryRatio);
+    if (windowRetries >= allowed) {
+      return false;
+    }
+    retries[current]++;
+    return true;
+  }
+
+  private long epoch() {
+    return clock.getAsLong() / bucketMs;
+  }
+
+  private int bucket(long epoch) {
+    int index = (int) (epoch % BUCKETS);
+    if (bucketEpochs[index] != epoch) {
+      bucketEpochs[index] = epoch;
+      requests[index] = 0;
+      retries[index] = 0;
+    }
+    return index;
+  }
+}
@@ -0,0 +1,133 @@
+package me.hajk1.infrastructure.client;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.DecodeException;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import me.hajk1.codegen.JsonCodecSupport;
+import me.hajk1.domain.model.PromoDetails;
+
+/**
+ * Pulls the few fields we use straight out of FX and promo response bodies with Jackson's
+ * streaming parser. {@code bodyAsJsonObject().mapTo(...)} built a map tree, then ran it back
+ * through databind into the model; here the parser reads the bytes once and skips everything else
+ * (the FX timestamp, promo code, any fields added upstream later).
+ *
+ * <p>Malformed JSON still fails with {@link DecodeException}, like {@code bodyAsJsonObject} did,
+ * and so does a rate or promo field that isn't a number. A numeric string is read the way databind
+ * coerced it, but {@code "n/a"}, {@code ""} or {@code null} must not turn into a zero-points quote.
+ */
+final class UpstreamJson {
+
+  private UpstreamJson() {}
+
+  /** The {@code rate} of an FX response. */
+  static double fxRate(Buffer body) {
+    try (JsonParser parser = JsonCodecSupport.parser(body)) {
+      JsonCodecSupport.startObject(parser);
+      while (parser.nextToken() == JsonToken.FIELD_NAME) {
+        String field = parser.currentName();
+        JsonToken value = parser.nextToken();
+        if ("rate".equals(field)) {
+          return requireNumber(parser, value, "FX rate");
+        }
+        parser.skipChildren();
+      }
+    } catch (IOException e) {
+      throw new DecodeException("Failed to decode FX response: " + e.getMessage(), e);
+    }
+    // Used to map to a 0.0 rate and quote zero points - an error is the honest answer
+    throw new DecodeException("FX response has no rate");
+  }
+
+  /**
+   * The {@code rates} object of a bulk FX table response, source currency to rate. Entries that
+   * aren't numbers are dropped rather than failing the whole table - those pairs fall back to
+   * per-pair lookups.
+   */
+  static Map<String, Double> fxRateTable(Buffer body) {
+    try (JsonParser parser = JsonCodecSupport.parser(body)) {
+      JsonCodecSupport.startObject(parser);
+      while (parser.nextToken() == JsonToken.FIELD_NAME) {
+        String field = parser.currentName();
+        if (parser.nextToken() == JsonToken.START_OBJECT && "rates".equals(field)) {
+          Map<String, Double> rates = new HashMap<>();
+          while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String currency = parser.currentName();
+            double rate = numberOrNaN(parser, parser.nextToken());
+            if (Double.isNaN(rate)) {
+              parser.skipChildren();
+            } else {
+              rates.put(currency, rate);
+            }
+          }
+          return rates;
+        }
+        parser.skipChildren();
+      }
+    } catch (IOException e) {
+      throw new DecodeException("Failed to decode FX rate table: " + e.getMessage(), e);
+    }
+    throw new DecodeException("FX rate table has no rates");
+  }
+
+  /**
+   * Promo details for {@code promoCode}. The code comes from the request rather than the body -
+   * the promo service echoes it back, and this saves decoding a string per lookup.
+   */
+  static PromoDetails promoDetails(String promoCode, Buffer body) {
+    int bonusPercentage = 0;
+    int expiresInDays = 0;
+    try (JsonParser parser = JsonCodecSupport.parser(body)) {
+      JsonCodecSupport.startObject(parser);
+      while (parser.nextToken() == JsonToken.FIELD_NAME) {
+        String field = parser.currentName();
+        JsonToken value = parser.nextToken();
+        if ("bonusPercentage".equals(field)) {
+          bonusPercentage = (int) requireNumber(parser, value, "Promo bonusPercentage");
+        } else if ("expiresInDays".equals(field)) {
+          expiresInDays = (int) requireNumber(parser, value, "Promo expiresInDays");
+        } else {
+          parser.skipChildren();
+        }
+      }
+    } catch (IOException e) {
+      throw new DecodeException("Failed to decode promo response: " + e.getMessage(), e);
+    }
+    return PromoDetails.builder()
+        .code(promoCode)
+        .bonusPercentage(bonusPercentage)
+        .expiresInDays(expiresInDays)
+        .build();
+  }
+
+  private static double requireNumber(JsonParser parser, JsonToken token, String what)
+      throws IOException {
+    double value = numberOrNaN(parser, token);
+    if (Double.isNaN(value)) {
+      throw new DecodeException(what + " is not a number: " + parser.getText());
+    }
+    return value;
+  }
+
+  /** The current value as a finite number - a JSON number or a string that parses as one. */
+  private static double numberOrNaN(JsonParser parser, JsonToken token) throws IOException {
+    double value;
+    if (token == JsonToken.VALUE_NUMBER_INT || token == JsonToken.VALUE_NUMBER_FLOAT) {
+      value = parser.getDoubleValue();
+    } else if (token == JsonToken.VALUE_STRING) {
+      // getValueAsDouble() would quietly give 0.0 for anything unparseable
+      try {
+        value = Double.parseDouble(parser.getText());
+      } catch (NumberFormatException e) {
+        return Double.NaN;
+      }
+    } else {
+      return Double.NaN;
+    }
+    return Double.isFinite(value) ? value : Double.NaN;
+  }
+}
@@ -0,0 +1,87 @@
+package me.hajk1.infrastructure.config;
+
+import io.vertx.core.Vertx;
+import io.vertx.core.http.HttpClient;
+import io.vertx.core.http.HttpClientOptions;
+import io.vertx.core.http.HttpVersion;
+import io.vertx.core.http.PoolOptions;
+import io.vertx.core.json.JsonObject;
+import java.util.concurrent.TimeUnit;
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * Connection settings for one upstream dependency, read from {@code <dependency>.http.*} keys. Each
+ * dependency gets its own client built from these, so a slow promo service can only exhaust the
+ * promo pool and wait queue, never FX's.
+ */
+@Value
+@Builder
+public class HttpClientSettings {
+
+  // Typical SETTINGS_MAX_CONCURRENT_STREAMS, used when the multiplexing limit is left to the server
+  private static final int DEFAULT_STREAMS_PER_CONNECTION = 100;
+
+  String dependency;
+  int maxPoolSize;
+  int maxWaitQueueSize;
+  boolean keepAlive;
+  int keepAliveTimeoutSeconds;
+  boolean pipelining;
+  int pipeliningLimit;
+  boolean http2;
+  int http2MultiplexingLimit;
+  int connectTimeoutMs;
+  int idleTimeoutMs;
+
+  public static HttpClientSettings fromConfig(JsonObject config, String dependency) {
+    String prefix = dependency + ".http.";
+    return HttpClientSettings.builder()
+        .dependency(dependency)
+        .maxPoolSize(config.getInteger(prefix + "maxPoolSize", 10))
+        .maxWaitQueueSize(config.getInteger(prefix + "maxWaitQueueSize", 200))
+        .keepAlive(config.getBoolean(prefix + "keepAlive", true))
+        .keepAliveTimeoutSeconds(config.getInteger(prefix + "keepAliveTimeout.s", 60))
+        .pipelining(config.getBoolean(prefix + "pipelining", false))
+        .pipeliningLimit(config.getInteger(prefix + "pipeliningLimit", 10))
+        .http2(config.getBoolean(prefix + "http2", false))
+        .http2MultiplexingLimit(config.getInteger(prefix + "http2.multiplexingLimit", -1))
+        .connectTimeoutMs(config.getInteger(prefix + "connectTimeout.ms", 1000))
+        .idleTimeoutMs(config.getInteger(prefix + "idleTimeout.ms", 0))
+        .build();
+  }
+
+  public HttpClient createClient(Vertx vertx) {
+    HttpClientOptions options =
+        new HttpClientOptions()
+            .setKeepAlive(keepAlive)
+            .setKeepAliveTimeout(keepAliveTimeoutSeconds)
+            .setPipelining(pipelining)
+            .setPipeliningLimit(pipeliningLimit)
+            .setConnectTimeout(connectTimeoutMs)
+            .setIdleTimeout(idleTimeoutMs)
+            .setIdleTimeoutUnit(TimeUnit.MILLISECONDS);
+    if (http2) {
+      // h2c via upgrade, so a server that only speaks HTTP/1.1 still works
+      options
+          .setProtocolVersion(HttpVersion.HTTP_2)
+          .setHttp2MultiplexingLimit(http2MultiplexingLimit);
+    }
+    PoolOptions pool =
+        new PoolOptions()
+            .setHttp1MaxSize(maxPoolSize)
+            .setHttp2MaxSize(maxPoolSize)
+            .setMaxWaitQueueSize(maxWaitQueueSize);
+    return vertx.createHttpClient(options, pool);
+  }
+
+  /** Requests the pool can have on the wire at once; anything beyond that waits for a slot. */
+  public int concurrentRequests() {
+    if (http2) {
+      int streams =
+          http2MultiplexingLimit > 0 ? http2MultiplexingLimit : DEFAULT_STREAMS_PER_CONNECTION;
+      return maxPoolSize * streams;
+    }
+    return pipelining ? maxPoolSize * pipeliningLimit : maxPoolSize;
+  }
+}
@@ -0,0 +1,51 @@
+package me.hajk1.infrastructure.config;
+
+import io.vertx.core.Vertx;
+import io.vertx.core.VertxOptions;
+import io.vertx.core.http.HttpServerOptions;
+import io.vertx.core.json.JsonObject;
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * Transport and socket settings for the quote server, read from {@code http.*} keys.
+ *
+ * <p>{@code http.nativeTransport} asks Vert.x for Netty's epoll transport, which has to be decided
+ * when the {@link Vertx} is created, so it goes through {@link #vertxOptions()}. Where epoll can't
+ * load (not Linux, or the native jar missing) Vert.x quietly stays on NIO; the socket options
+ * below are only set when epoll actually loaded, since NIO ignores them anyway.
+ */
+@Value
+@Builder
+public class HttpServerSettings {
+
+  boolean nativeTransport;
+  boolean tcpFastOpen;
+  boolean tcpQuickAck;
+  boolean reusePort;
+
+  public static HttpServerSettings fromConfig(JsonObject config) {
+    return HttpServerSettings.builder()
+        .nativeTransport(config.getBoolean("http.nativeTransport", false))
+        .tcpFastOpen(config.getBoolean("http.tcpFastOpen", true))
+        .tcpQuickAck(config.getBoolean("http.tcpQuickAck", true))
+        .reusePort(config.getBoolean("http.reusePort", true))
+        .build();
+  }
+
+  /** Options for the {@link Vertx} the service will be deployed on. */
+  public VertxOptions vertxOptions() {
+    return new VertxOptions().setPreferNativeTransport(nativeTransport);
+  }
+
+  public HttpServerOptions serverOptions(Vertx vertx) {
+    HttpServerOptions options = new HttpServerOptions();
+    if (nativeTransport && vertx.isNativeTransportEnabled()) {
+      // Fast open saves a round trip on every new gateway connection, quick ack a delayed ACK
+      // on short request/response exchanges. Reuse port lets several service processes bind
+      // the same port, each with its own accept queue that the kernel balances connections over.
+      options.setTcpFastOpen(tcpFastOpen).setTcpQuickAck(tcpQuickAck).setReusePort(reusePort);
+    }
+    return options;
+  }
+}
@@ -8,7 +8,14 @@ import io.vertx.core.json.jackson.DatabindCodec;
 
 public class JacksonConfig {
 
-  public static void configure() {
+  private static boolean configured;
+
+  // Every verticle instance calls this from its own event loop; configure the mapper once
+  public static synchronized void configure() {
+    if (configured) {
+      return;
+    }
+    configured = true;
     ObjectMapper mapper = DatabindCodec.mapper();
     mapper.registerModule(new JavaTimeModule());
     mapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
@@ -0,0 +1,108 @@
+package me.hajk1.infrastructure.config;
+
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.shareddata.LocalMap;
+import io.vertx.core.shareddata.Shareable;
+import java.util.Optional;
+import java.util.function.Supplier;
+import lombok.AccessLevel;
+import lombok.Getter;
+import me.hajk1.domain.model.CurrencyPair;
+import me.hajk1.domain.model.PromoDetails;
+import me.hajk1.infrastructure.cache.CachingPointsCalculationService.CachedQuote;
+import me.hajk1.infrastructure.cache.CachingPointsCalculationService.QuoteKey;
+import me.hajk1.infrastructure.cache.QuoteInputVersions;
+import me.hajk1.infrastructure.cache.TtlCache;
+import me.hajk1.infrastructure.client.CircuitBreaker;
+import me.hajk1.infrastructure.client.FxRateTablePoller;
+import me.hajk1.infrastructure.client.RetryBudget;
+import me.hajk1.infrastructure.http.ConcurrencyLimiter;
+import me.hajk1.infrastructure.metrics.MetricsRegistry;
+
+/**
+ * State shared by every verticle instance in one Vert.x: metrics, the FX/promo/quote caches, the
+ * last good FX rates, the versions of quote inputs, the FX retry and promo hedge budgets, the
+ * circuit breakers, the quote concurrency limit and the FX rate table poller. All of it is
+ * thread-safe. Anything that hands out futures (web clients, in-flight coalescing) stays per
+ * instance so callbacks run on the caller's own event loop.
+ */
+@Getter
+public class SharedState implements Shareable {
+
+  private static final String MAP_NAME = "loyalty.shared";
+
+  private final MetricsRegistry metrics = new MetricsRegistry();
+  private final TtlCache<CurrencyPair, Double> fxCache;
+  private final TtlCache<CurrencyPair, Double> fxLastGood;
+  private final TtlCache<String, Optional<PromoDetails>> promoCache;
+  private final TtlCache<QuoteKey, CachedQuote> quoteCache;
+  private final QuoteInputVersions quoteInputs;
+  private final RetryBudget fxRetryBudget;
+  private final CircuitBreaker fxCircuitBreaker;
+  private final CircuitBreaker promoCircuitBreaker;
+  private final RetryBudget promoHedgeBudget;
+  private final ConcurrencyLimiter quoteLimiter;
+
+  @Getter(AccessLevel.NONE)
+  private FxRateTablePoller fxRateTablePoller;
+
+  private SharedState(JsonObject config) {
+    this.fxCache = new TtlCache<>(config.getInteger("fx.cache.maxEntries", 1000));
+    this.fxLastGood = new TtlCache<>(config.getInteger("fx.stale.maxEntries", 1000));
+    this.promoCache = new TtlCache<>(config.getInteger("promo.cache.maxEntries", 10_000));
+    this.quoteCache = new TtlCache<>(config.getInteger("quote.cache.maxEntries", 10_000));
+    this.quoteInputs = new QuoteInputVersions(config.getInteger("quote.cache.maxEntries", 10_000));
+    this.fxRetryBudget =
+        new RetryBudget(
+            config.getDouble("fx.retry.budget.ratio", 0.2),
+            config.getLong("fx.retry.budget.minRetries", 10L),
+            config.getLong("fx.retry.budget.window.ms", 10_000L));
+    this.fxCircuitBreaker =
+        new CircuitBreaker(
+            "fx",
+            config.getInteger("fx.breaker.failureThreshold", 5),
+            config.getLong("fx.breaker.open.ms", 5_000L),
+            metrics);
+    this.promoCircuitBreaker =
+        new CircuitBreaker(
+            "promo",
+            config.getInteger("promo.breaker.failureThreshold", 5),
+            config.getLong("promo.breaker.open.ms", 5_000L),
+            metrics);
+    // Same token accounting as retries: each lookup earns a fraction of a hedge
+    this.promoHedgeBudget =
+        new RetryBudget(
+            config.getDouble("promo.hedge.budget.ratio", 0.05),
+            0,
+            config.getLong("promo.hedge.budget.window.ms", 10_000L));
+    // One limit for the process: every instance's quotes end up on the same upstreams
+    this.quoteLimiter =
+        ConcurrencyLimiter.builder()
+            .initialLimit(config.getInteger("quote.limit.initial", 200))
+            .minLimit(config.getInteger("quote.limit.min", 10))
+            .maxLimit(config.getInteger("quote.limit.max", 2000))
+            .slowLatencyMs(config.getLong("quote.limit.slowLatency.ms", 1000L))
+            .backoffRatio(config.getDouble("quote.limit.backoffRatio", 0.9))
+            .metrics(metrics)
+            .build();
+  }
+
+  /**
+   * The FX rate table poller. The first instance to ask builds it with {@code factory} and starts
+   * it; the rest share that one.
+   */
+  public synchronized FxRateTablePoller fxRateTablePoller(Supplier<FxRateTablePoller> factory) {
+    if (fxRateTablePoller == null) {
+      fxRateTablePoller = factory.get();
+      fxRateTablePoller.start();
+    }
+    return fxRateTablePoller;
+  }
+
+  /** Returns the state for this Vert.x instance, creating it on first use. */
+  public static SharedState get(Vertx vertx, JsonObject config) {
+    LocalMap<String, SharedState> map = vertx.sharedData().getLocalMap(MAP_NAME);
+    return map.computeIfAbsent("state", key -> new SharedState(config));
+  }
+}
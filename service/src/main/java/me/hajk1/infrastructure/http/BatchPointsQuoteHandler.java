@@ -0,0 +1,100 @@
+package me.hajk1.infrastructure.http;
+
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.json.DecodeException;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.web.RoutingContext;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import me.hajk1.domain.model.PointsQuoteRequest;
+import me.hajk1.domain.model.PointsQuoteResponse;
+import me.hajk1.domain.service.PointsCalculationService;
+import me.hajk1.domain.service.ValidationError;
+
+/**
+ * Quotes a JSON array of requests in one call. The response always has status 200 and holds one
+ * result per request, in request order; invalid items fail on their own without failing the batch.
+ * Every item shares one deadline, from the request headers or the server default.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class BatchPointsQuoteHandler implements Handler<RoutingContext> {
+
+  private final PointsCalculationService calculationService;
+  private final int maxBatchSize;
+  private final RequestDeadlines deadlines;
+
+  @Override
+  public void handle(RoutingContext ctx) {
+    JsonArray items;
+    try {
+      items = ctx.body().asJsonArray();
+    } catch (DecodeException e) {
+      log.debug("Failed to decode batch request: {}", e.getMessage());
+      rejectBatch(ctx, ValidationError.INVALID_JSON.message());
+      return;
+    } catch (ClassCastException e) {
+      // Valid JSON, but an object or scalar instead of an array
+      items = null;
+    }
+    if (items == null) {
+      rejectBatch(ctx, "Request body must be a JSON array");
+      return;
+    }
+    if (items.size() > maxBatchSize) {
+      rejectBatch(ctx, "Batch size must not exceed " + maxBatchSize);
+      return;
+    }
+
+    // Items that fail to decode keep their slot so results stay in request order
+    List<Future<PointsQuoteResponse>> results = new ArrayList<>(items.size());
+    List<PointsQuoteRequest> requests = new ArrayList<>(items.size());
+    List<Integer> requestSlots = new ArrayList<>(items.size());
+    for (int i = 0; i < items.size(); i++) {
+      try {
+        if (!(items.getValue(i) instanceof JsonObject item)) {
+          throw ValidationError.INVALID_JSON.exception();
+        }
+        requests.add(item.mapTo(PointsQuoteRequest.class));
+        requestSlots.add(i);
+        results.add(null);
+      } catch (Exception e) {
+        results.add(Future.failedFuture(e));
+      }
+    }
+
+    List<Future<PointsQuoteResponse>> quotes =
+        calculationService.calculateBatch(requests, deadlines.forRequest(ctx.request()));
+    for (int i = 0; i < quotes.size(); i++) {
+      results.set(requestSlots.get(i), quotes.get(i));
+    }
+
+    // join() waits for every item, unlike all() which stops at the first failure
+    Future.join(results)
+        .onComplete(
+            ignored -> {
+              JsonArray body = new JsonArray();
+              for (Future<PointsQuoteResponse> result : results) {
+                body.add(
+                    result.succeeded()
+                        ? QuoteResults.item(result.result())
+                        : QuoteResults.item(result.cause()));
+              }
+              ctx.response()
+                  .putHeader("Content-Type", "application/json")
+                  .setStatusCode(200)
+                  .end(new JsonObject().put("results", body).encode());
+            });
+  }
+
+  private void rejectBatch(RoutingContext ctx, String message) {
+    ctx.response()
+        .putHeader("Content-Type", "application/json")
+        .setStatusCode(400)
+        .end(new JsonObject().put("error", message).encode());
+  }
+}
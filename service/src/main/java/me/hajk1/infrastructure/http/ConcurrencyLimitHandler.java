@@ -0,0 +1,43 @@
+package me.hajk1.infrastructure.http;
+
+import io.vertx.ext.web.RoutingContext;
+import io.vertx.ext.web.handler.PlatformHandler;
+import me.hajk1.infrastructure.metrics.QuoteStageMetrics;
+
+/**
+ * Runs ahead of the body handler on a quote route: a quote past the {@link ConcurrencyLimiter}
+ * gets a 503 with {@code Retry-After} before its body is even read, instead of queueing behind
+ * the ones already in flight. Admitted quotes hold their slot until the response is written.
+ *
+ * <p>A {@link PlatformHandler}, since Vert.x Web only lets those go before the body handler.
+ */
+public class ConcurrencyLimitHandler implements PlatformHandler {
+
+  private final ConcurrencyLimiter limiter;
+  private final String retryAfterSeconds;
+  private final QuoteStageMetrics metrics;
+
+  public ConcurrencyLimitHandler(
+      ConcurrencyLimiter limiter, long retryAfterSeconds, QuoteStageMetrics metrics) {
+    this.limiter = limiter;
+    this.retryAfterSeconds = Long.toString(retryAfterSeconds);
+    this.metrics = metrics;
+  }
+
+  @Override
+  public void handle(RoutingContext ctx) {
+    if (!limiter.tryAcquire()) {
+      ctx.response()
+          .putHeader("Content-Type", "application/json")
+          .putHeader("Retry-After", retryAfterSeconds)
+          .setStatusCode(503)
+          .end(QuoteResults.overloadedBody());
+      metrics.response(503);
+      return;
+    }
+    long start = System.nanoTime();
+    // Also called if the connection closes first - that quote counts as dropped
+    ctx.addEndHandler(ar -> limiter.release(start, System.nanoTime(), ar.failed()));
+    ctx.next();
+  }
+}
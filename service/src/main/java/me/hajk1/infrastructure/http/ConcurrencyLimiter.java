@@ -0,0 +1,89 @@
+package me.hajk1.infrastructure.http;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import lombok.Builder;
+import me.hajk1.infrastructure.metrics.MetricsRegistry;
+
+/**
+ * AIMD limit on in-flight quotes, driven by their measured latency - the same scheme TCP uses for
+ * its congestion window.
+ *
+ * <ul>
+ *   <li>Additive increase: each quote that finishes within {@code slowLatencyMs} while at least
+ *       half the limit was in use adds {@code 1/limit}, so the limit grows by one per full window.
+ *   <li>Multiplicative decrease: a slow quote, or one whose client went away, multiplies the limit
+ *       by {@code backoffRatio}. Only quotes that started after the last decrease count, so one
+ *       slow burst backs off once rather than once per quote in it.
+ * </ul>
+ *
+ * Shared by all verticle instances, so methods are synchronized; each is a few field updates.
+ */
+public class ConcurrencyLimiter {
+
+  private final int minLimit;
+  private final int maxLimit;
+  private final long slowLatencyNanos;
+  private final double backoffRatio;
+
+  private final LongAdder shed;
+
+  private double limit;
+  private int inFlight;
+  private long lastDecreaseNanos;
+
+  @Builder
+  private ConcurrencyLimiter(
+      int initialLimit,
+      int minLimit,
+      int maxLimit,
+      long slowLatencyMs,
+      double backoffRatio,
+      MetricsRegistry metrics) {
+    this.minLimit = minLimit;
+    this.maxLimit = maxLimit;
+    this.slowLatencyNanos = TimeUnit.MILLISECONDS.toNanos(slowLatencyMs);
+    this.backoffRatio = backoffRatio;
+    this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+    this.lastDecreaseNanos = System.nanoTime();
+    this.shed = metrics.counter("quote_shed_total");
+    metrics.gauge("quote_concurrency_limit", this::limit);
+    metrics.gauge("quote_in_flight", this::inFlight);
+  }
+
+  /** Takes a slot for one quote; false means shed it. */
+  public synchronized boolean tryAcquire() {
+    if (inFlight >= (int) limit) {
+      shed.increment();
+      return false;
+    }
+    inFlight++;
+    return true;
+  }
+
+  /**
+   * Gives back the slot of a quote that started at {@code startNanos} and ended at {@code
+   * endNanos} ({@link System#nanoTime}). {@code dropped} is a quote that never got its response
+   * out.
+   */
+  public synchronized void release(long startNanos, long endNanos, boolean dropped) {
+    int inUse = inFlight--;
+    if (dropped || endNanos - startNanos > slowLatencyNanos) {
+      if (startNanos - lastDecreaseNanos >= 0) {
+        limit = Math.max(minLimit, limit * backoffRatio);
+        lastDecreaseNanos = endNanos;
+      }
+    } else if (inUse * 2 >= limit) {
+      // No point growing a limit nobody is near
+      limit = Math.min(maxLimit, limit + 1 / limit);
+    }
+  }
+
+  public synchronized int limit() {
+    return (int) limit;
+  }
+
+  public synchronized int inFlight() {
+    return inFlight;
+  }
+}
@@ -0,0 +1,20 @@
+package me.hajk1.infrastructure.http;
+
+import io.vertx.core.Handler;
+import io.vertx.ext.web.RoutingContext;
+import lombok.RequiredArgsConstructor;
+import me.hajk1.infrastructure.metrics.MetricsRegistry;
+
+/** Serves the shared registry for Prometheus to scrape. */
+@RequiredArgsConstructor
+public class MetricsHandler implements Handler<RoutingContext> {
+
+  private static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+  private final MetricsRegistry metrics;
+
+  @Override
+  public void handle(RoutingContext ctx) {
+    ctx.response().putHeader("Content-Type", CONTENT_TYPE).end(metrics.toPrometheusText());
+  }
+}
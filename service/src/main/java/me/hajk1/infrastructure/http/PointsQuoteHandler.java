@@ -0,0 +1,81 @@
+package me.hajk1.infrastructure.http;
+
+import io.vertx.core.Handler;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.DecodeException;
+import io.vertx.ext.web.RoutingContext;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import me.hajk1.domain.model.PointsQuoteRequest;
+import me.hajk1.domain.model.PointsQuoteRequestJsonCodec;
+import me.hajk1.domain.model.PointsQuoteResponseJsonCodec;
+import me.hajk1.domain.service.LogLimiter;
+import me.hajk1.domain.service.PointsCalculationService;
+import me.hajk1.domain.service.QuoteMetrics.Stage;
+import me.hajk1.domain.service.ValidationError;
+import me.hajk1.infrastructure.metrics.QuoteStageMetrics;
+
+@Slf4j
+@RequiredArgsConstructor
+public class PointsQuoteHandler implements Handler<RoutingContext> {
+
+  private final PointsCalculationService calculationService;
+  private final QuoteStageMetrics metrics;
+  private final RequestDeadlines deadlines;
+
+  // Full stack traces for the first few 500s per interval; the rest are counted
+  private final LogLimiter errorLogs = new LogLimiter(5, 10_000);
+
+  @Override
+  public void handle(RoutingContext ctx) {
+    long start = System.nanoTime();
+    try {
+      // Generated codec: straight from the body buffer, no JsonObject or reflection in between
+      PointsQuoteRequest request = PointsQuoteRequestJsonCodec.decode(ctx.body().buffer());
+      metrics.recordStage(Stage.DECODE, System.nanoTime() - start);
+      log.debug("Received request: {}", request);
+
+      calculationService
+          .calculatePoints(request, deadlines.forRequest(ctx.request()))
+          .onSuccess(
+              response -> {
+                log.debug("Calculated response: {}", response);
+                long encodeStart = System.nanoTime();
+                Buffer body = PointsQuoteResponseJsonCodec.encode(response);
+                metrics.recordStage(Stage.ENCODE, System.nanoTime() - encodeStart);
+                respond(ctx, 200, body, start);
+              })
+          .onFailure(ex -> handleError(ctx, ex, start));
+
+    } catch (DecodeException e) {
+      log.debug("Failed to decode request: {}", e.getMessage());
+      handleError(ctx, ValidationError.INVALID_JSON.exception(), start);
+    } catch (Exception e) {
+      handleError(ctx, e, start);
+    }
+  }
+
+  private void handleError(RoutingContext ctx, Throwable ex, long start) {
+    int statusCode = QuoteResults.statusCode(ex);
+    // Rejected input is the client's problem and can arrive by the thousand - no stack traces
+    if (statusCode < 500) {
+      log.debug("Rejected request: {}", ex.getMessage());
+    } else {
+      long suppressed = errorLogs.tryAcquire();
+      if (suppressed >= 0) {
+        log.error("Error processing request ({} similar suppressed)", suppressed, ex);
+      }
+    }
+
+    respond(ctx, statusCode, QuoteResults.errorBody(ex), start);
+  }
+
+  private void respond(RoutingContext ctx, int statusCode, Buffer body, long start) {
+    ctx.response()
+        .putHeader("Content-Type", "application/json")
+        .setStatusCode(statusCode)
+        .end(body);
+    metrics.response(statusCode);
+    metrics.recordStage(Stage.TOTAL, System.nanoTime() - start);
+  }
+}
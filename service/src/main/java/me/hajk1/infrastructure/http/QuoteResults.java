@@ -0,0 +1,78 @@
+package me.hajk1.infrastructure.http;
+
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.JsonObject;
+import java.util.HashMap;
+import java.util.Map;
+import me.hajk1.domain.model.PointsQuoteResponse;
+import me.hajk1.domain.service.DeadlineExceededException;
+import me.hajk1.domain.service.ValidationError;
+import me.hajk1.domain.service.ValidationException;
+
+/** Maps quote outcomes to HTTP status codes and JSON bodies, shared by all quote endpoints. */
+final class QuoteResults {
+
+  private static final String INTERNAL_ERROR = "Internal server error";
+  private static final String DEADLINE_EXCEEDED = "Deadline exceeded";
+  private static final Buffer OVERLOADED = errorJson("Service overloaded, retry later").toBuffer();
+
+  // Bad input gets the same handful of bodies over and over, so encode them once. Vert.x writes
+  // a slice of the buffer, so one instance can go out on any number of responses.
+  private static final Map<String, Buffer> ERROR_BODIES = new HashMap<>();
+
+  static {
+    for (ValidationError error : ValidationError.values()) {
+      ERROR_BODIES.put(error.message(), errorJson(error.message()).toBuffer());
+    }
+    ERROR_BODIES.put(INTERNAL_ERROR, errorJson(INTERNAL_ERROR).toBuffer());
+    ERROR_BODIES.put(DEADLINE_EXCEEDED, errorJson(DEADLINE_EXCEEDED).toBuffer());
+  }
+
+  private QuoteResults() {}
+
+  static int statusCode(Throwable ex) {
+    // Could refactor this to use a map of exception types -> status codes
+    // but keeping it simple for now - YAGNI principle
+    if (ex instanceof ValidationException) {
+      return 400;
+    }
+    // Ran out of time waiting on FX - the same answer a gateway gives for a slow upstream
+    return ex instanceof DeadlineExceededException ? 504 : 500;
+  }
+
+  static String errorMessage(Throwable ex) {
+    if (ex instanceof ValidationException) {
+      return ex.getMessage();
+    }
+    return ex instanceof DeadlineExceededException ? DEADLINE_EXCEEDED : INTERNAL_ERROR;
+  }
+
+  static JsonObject error(Throwable ex) {
+    return errorJson(errorMessage(ex));
+  }
+
+  /** Encoded {@link #error}, prebuilt for validation failures, 500s and 504s. */
+  static Buffer errorBody(Throwable ex) {
+    String message = errorMessage(ex);
+    Buffer body = ERROR_BODIES.get(message);
+    return body != null ? body : errorJson(message).toBuffer();
+  }
+
+  /** Body of a quote shed by the concurrency limit. */
+  static Buffer overloadedBody() {
+    return OVERLOADED;
+  }
+
+  /** One entry of a multi-quote response: either {@code quote} or {@code error}, plus status. */
+  static JsonObject item(PointsQuoteResponse response) {
+    return new JsonObject().put("status", 200).put("quote", JsonObject.mapFrom(response));
+  }
+
+  static JsonObject item(Throwable ex) {
+    return error(ex).put("status", statusCode(ex));
+  }
+
+  private static JsonObject errorJson(String message) {
+    return new JsonObject().put("error", message);
+  }
+}
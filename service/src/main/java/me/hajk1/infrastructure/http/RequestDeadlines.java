@@ -0,0 +1,69 @@
+package me.hajk1.infrastructure.http;
+
+import io.vertx.core.http.HttpServerRequest;
+import java.util.function.LongSupplier;
+import me.hajk1.domain.model.Deadline;
+
+/**
+ * Works out a quote's {@link Deadline} from the request: {@value #TIMEOUT_HEADER} (milliseconds
+ * from now) or {@value #DEADLINE_HEADER} (epoch milliseconds), never later than the server's
+ * {@code defaultTimeoutMs}. A header that doesn't parse is ignored rather than rejected - the
+ * default still bounds the quote. A default of 0 or less means no server limit.
+ */
+public class RequestDeadlines {
+
+  static final String TIMEOUT_HEADER = "X-Request-Timeout-Ms";
+  static final String DEADLINE_HEADER = "X-Request-Deadline";
+
+  private final long defaultTimeoutMs;
+  private final LongSupplier wallClock;
+
+  public RequestDeadlines(long defaultTimeoutMs) {
+    this(defaultTimeoutMs, System::currentTimeMillis);
+  }
+
+  RequestDeadlines(long defaultTimeoutMs, LongSupplier wallClock) {
+    this.defaultTimeoutMs = defaultTimeoutMs;
+    this.wallClock = wallClock;
+  }
+
+  public Deadline forRequest(HttpServerRequest request) {
+    return forHeaders(request.getHeader(TIMEOUT_HEADER), request.getHeader(DEADLINE_HEADER));
+  }
+
+  /** For work with no request headers of its own, like each record of a stream. */
+  public Deadline serverDefault() {
+    return defaultTimeoutMs > 0 ? Deadline.afterMs(defaultTimeoutMs) : Deadline.NONE;
+  }
+
+  Deadline forHeaders(String timeoutHeader, String deadlineHeader) {
+    long requestedMs = parseMs(timeoutHeader);
+    if (requestedMs == Long.MIN_VALUE) {
+      long deadlineMs = parseMs(deadlineHeader);
+      if (deadlineMs != Long.MIN_VALUE) {
+        requestedMs = deadlineMs - wallClock.getAsLong();
+      }
+    }
+    if (requestedMs == Long.MIN_VALUE) {
+      return serverDefault();
+    }
+    // Already passed on arrival comes out as an expired deadline, so the quote fails at once
+    long timeoutMs = Math.max(0, requestedMs);
+    if (defaultTimeoutMs > 0) {
+      timeoutMs = Math.min(timeoutMs, defaultTimeoutMs);
+    }
+    return Deadline.afterMs(timeoutMs);
+  }
+
+  // Long.MIN_VALUE for a missing or malformed header, so the common path needs no boxing
+  private static long parseMs(String header) {
+    if (header == null) {
+      return Long.MIN_VALUE;
+    }
+    try {
+      return Long.parseLong(header.trim());
+    } catch (NumberFormatException e) {
+      return Long.MIN_VALUE;
+    }
+  }
+}
@@ -0,0 +1,157 @@
+package me.hajk1.infrastructure.http;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpServerRequest;
+import io.vertx.core.http.HttpServerResponse;
+import io.vertx.core.json.DecodeException;
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.parsetools.RecordParser;
+import io.vertx.ext.web.RoutingContext;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import me.hajk1.domain.model.PointsQuoteRequest;
+import me.hajk1.domain.model.PointsQuoteResponse;
+import me.hajk1.domain.service.PointsCalculationService;
+import me.hajk1.domain.service.ValidationError;
+import me.hajk1.domain.service.ValidationException;
+
+/**
+ * Quotes newline-delimited JSON requests as they arrive and writes one NDJSON result per request
+ * as soon as it completes, so results may come back out of order; {@code index} is the request's
+ * position in the input.
+ *
+ * <p>Reading stops while {@code maxInFlight} quotes are pending or the response write queue is
+ * full, and the parser pauses the socket in turn, so memory stays flat for any input size.
+ *
+ * <p>A stream can run for as long as the client keeps sending, so there is no deadline for the
+ * whole request: each record gets the server default from the moment it is read.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class StreamingQuoteHandler implements Handler<RoutingContext> {
+
+  private static final int MAX_RECORD_SIZE = 64 * 1024;
+
+  private final PointsCalculationService calculationService;
+  private final int maxInFlight;
+  private final RequestDeadlines deadlines;
+
+  @Override
+  public void handle(RoutingContext ctx) {
+    ctx.response().setChunked(true).putHeader("Content-Type", "application/x-ndjson");
+    new Session(ctx).start();
+  }
+
+  /** Per-request state. Only touched from the request's event loop, so needs no locking. */
+  private final class Session {
+    private final HttpServerRequest request;
+    private final RecordParser parser;
+    private final HttpServerResponse response;
+    private long nextIndex;
+    private int inFlight;
+    private boolean inputEnded;
+    private boolean paused;
+    private boolean failed;
+
+    Session(RoutingContext ctx) {
+      this.request = ctx.request();
+      this.response = ctx.response();
+      this.parser = RecordParser.newDelimited("\n", request).maxRecordSize(MAX_RECORD_SIZE);
+    }
+
+    void start() {
+      response.drainHandler(v -> updateFlow());
+      parser.exceptionHandler(this::fail);
+      parser.endHandler(
+          v -> {
+            inputEnded = true;
+            finishIfDone();
+          });
+      parser.handler(this::onRecord);
+    }
+
+    private void onRecord(Buffer record) {
+      String line = record.toString().trim();
+      if (line.isEmpty()) {
+        return;
+      }
+
+      long index = nextIndex++;
+      inFlight++;
+      decode(line)
+          .compose(
+              request -> calculationService.calculatePoints(request, deadlines.serverDefault()))
+          .onComplete(result -> onQuote(index, result));
+      updateFlow();
+    }
+
+    private Future<PointsQuoteRequest> decode(String line) {
+      try {
+        return Future.succeededFuture(new JsonObject(line).mapTo(PointsQuoteRequest.class));
+      } catch (DecodeException e) {
+        return Future.failedFuture(ValidationError.INVALID_JSON.exception());
+      } catch (Exception e) {
+        return Future.failedFuture(e);
+      }
+    }
+
+    private void onQuote(long index, AsyncResult<PointsQuoteResponse> result) {
+      inFlight--;
+      if (response.ended() || response.closed()) {
+        return;
+      }
+      JsonObject item =
+          result.succeeded()
+              ? QuoteResults.item(result.result())
+              : QuoteResults.item(result.cause());
+      response.write(item.put("index", index).encode() + "\n");
+      updateFlow();
+      finishIfDone();
+    }
+
+    private void updateFlow() {
+      if (failed) {
+        return; // Stays paused
+      }
+      boolean shouldPause = inFlight >= maxInFlight || response.writeQueueFull();
+      if (shouldPause && !paused) {
+        paused = true;
+        parser.pause();
+      } else if (!shouldPause && paused) {
+        paused = false;
+        parser.resume();
+      }
+    }
+
+    private void finishIfDone() {
+      if (inputEnded && inFlight == 0 && !response.ended()) {
+        response.end();
+      }
+    }
+
+    private void fail(Throwable ex) {
+      log.error("Quote stream failed after {} records: {}", nextIndex, ex.getMessage());
+      // Oversized records or broken input: stop parsing, report once, and drop whatever the
+      // client is still sending rather than read it to the end
+      failed = true;
+      parser.pause();
+      if (!response.ended() && !response.closed()) {
+        response
+            .end(QuoteResults.error(new ValidationException("Invalid record")).encode() + "\n")
+            .onComplete(v -> dropUnreadInput());
+      } else {
+        dropUnreadInput();
+      }
+    }
+
+    // A connection with a body half read can't carry another request, so close it
+    private void dropUnreadInput() {
+      if (!request.isEnded()) {
+        request.connection().close();
+      }
+    }
+  }
+}
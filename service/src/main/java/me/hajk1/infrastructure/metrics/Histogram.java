@@ -0,0 +1,133 @@
+package me.hajk1.infrastructure.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Windowed latency histogram with log-linear buckets: exact below 64, then 32 buckets per power of
+ * two (about 3% relative error). Percentiles cover the current window plus the previous one, so
+ * they reflect the last one to two windows of traffic rather than everything since startup.
+ *
+ * <p>Recording is a single atomic increment plus two adders for the lifetime count and sum (what
+ * Prometheus wants for {@code _count}/{@code _sum}). It never reads the clock: windows rotate when
+ * the histogram is read, which the hedge delay refresh and the scrape do often enough. A sample
+ * recorded while the windows swap may land in the retired one - fine for a latency estimate.
+ */
+public class Histogram {
+
+  private static final int SUB_BUCKET_BITS = 5;
+  private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+  private static final int BUCKETS = (64 - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+  private final long windowMs;
+  private final LongSupplier clock;
+
+  private volatile AtomicLongArray current = new AtomicLongArray(BUCKETS);
+  private volatile AtomicLongArray previous = new AtomicLongArray(BUCKETS);
+  private volatile long windowStart;
+
+  private final LongAdder totalCount = new LongAdder();
+  private final LongAdder totalSum = new LongAdder();
+
+  public Histogram(long windowMs) {
+    this(windowMs, System::currentTimeMillis);
+  }
+
+  public Histogram(long windowMs, LongSupplier clock) {
+    this.windowMs = windowMs;
+    this.clock = clock;
+    this.windowStart = clock.getAsLong();
+  }
+
+  public void record(long value) {
+    long sample = Math.max(0, value);
+    current.incrementAndGet(bucketOf(sample));
+    totalCount.increment();
+    totalSum.add(sample);
+  }
+
+  /** Samples in the current and previous window. */
+  public long count() {
+    rotateIfNeeded();
+    AtomicLongArray cur = current;
+    AtomicLongArray prev = previous;
+    long total = 0;
+    for (int i = 0; i < BUCKETS; i++) {
+      total += cur.get(i) + prev.get(i);
+    }
+    return total;
+  }
+
+  /** Samples since startup, unlike {@link #count()}. */
+  public long totalCount() {
+    return totalCount.sum();
+  }
+
+  /** Sum of all samples since startup. */
+  public long totalSum() {
+    return totalSum.sum();
+  }
+
+  /**
+   * Upper bound of the bucket holding the given percentile (0-100), or 0 when there are no samples.
+   */
+  public long valueAtPercentile(double percentile) {
+    return valuesAtPercentiles(percentile)[0];
+  }
+
+  /** Same as {@link #valueAtPercentile} for several percentiles (ascending), in one pass. */
+  public long[] valuesAtPercentiles(double... percentiles) {
+    rotateIfNeeded();
+    AtomicLongArray cur = current;
+    AtomicLongArray prev = previous;
+    long[] counts = new long[BUCKETS];
+    long total = 0;
+    for (int i = 0; i < BUCKETS; i++) {
+      counts[i] = cur.get(i) + prev.get(i);
+      total += counts[i];
+    }
+    long[] values = new long[percentiles.length];
+    if (total == 0) {
+      return values;
+    }
+    int bucket = 0;
+    long seen = counts[0];
+    for (int p = 0; p < percentiles.length; p++) {
+      long rank = Math.max(1, (long) Math.ceil(total * percentiles[p] / 100.0));
+      while (seen < rank && bucket < BUCKETS - 1) {
+        seen += counts[++bucket];
+      }
+      values[p] = upperBoundOf(bucket);
+    }
+    return values;
+  }
+
+  static int bucketOf(long value) {
+    int shift = Math.max(0, 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS);
+    return shift * SUB_BUCKETS + (int) (value >>> shift);
+  }
+
+  static long upperBoundOf(int bucket) {
+    int shift = Math.max(0, bucket / SUB_BUCKETS - 1);
+    long mantissa = bucket - (long) shift * SUB_BUCKETS;
+    return ((mantissa + 1) << shift) - 1;
+  }
+
+  private void rotateIfNeeded() {
+    long now = clock.getAsLong();
+    if (now - windowStart < windowMs) {
+      return;
+    }
+    synchronized (this) {
+      long elapsed = now - windowStart;
+      if (elapsed < windowMs) {
+        return;
+      }
+      // Nobody read for a while: current then spans more than a window, still the best we have
+      previous = current;
+      current = new AtomicLongArray(BUCKETS);
+      windowStart = now;
+    }
+  }
+}
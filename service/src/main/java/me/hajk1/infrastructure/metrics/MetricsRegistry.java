@@ -0,0 +1,75 @@
+package me.hajk1.infrastructure.metrics;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Minimal in-process metrics store. Counters are {@link LongAdder}s so they can be bumped from any
+ * event loop without contention; gauges are read lazily when a snapshot is taken.
+ */
+public class MetricsRegistry {
+
+  private static final long HISTOGRAM_WINDOW_MS = 60_000;
+
+  private final Map<String, LongAdder> adders = new ConcurrentHashMap<>();
+  private final Map<String, LongSupplier> counters = new ConcurrentHashMap<>();
+  private final Map<String, LongSupplier> gauges = new ConcurrentHashMap<>();
+  private final Map<String, Histogram> histograms = new ConcurrentHashMap<>();
+
+  public LongAdder counter(String name) {
+    return adders.computeIfAbsent(
+        name,
+        n -> {
+          LongAdder adder = new LongAdder();
+          counters.put(n, adder::sum);
+          return adder;
+        });
+  }
+
+  /** Registers a counter whose value is owned elsewhere (e.g. cache evictions). */
+  public void counter(String name, LongSupplier value) {
+    counters.put(name, value);
+  }
+
+  public void gauge(String name, LongSupplier value) {
+    gauges.put(name, value);
+  }
+
+  /**
+   * Returns a gauge that callers move up and down themselves. Every caller asking for the same name
+   * gets the same adder, so verticle instances add to one total instead of replacing each other.
+   */
+  public LongAdder gauge(String name) {
+    return adders.computeIfAbsent(
+        name,
+        n -> {
+          LongAdder adder = new LongAdder();
+          gauges.put(n, adder::sum);
+          return adder;
+        });
+  }
+
+  /** Returns the shared histogram with this name; windows are one minute. */
+  public Histogram histogram(String name) {
+    return histograms.computeIfAbsent(name, n -> new Histogram(HISTOGRAM_WINDOW_MS));
+  }
+
+  public Map<String, Long> snapshot() {
+    Map<String, Long> values = new TreeMap<>();
+    counters.forEach((name, value) -> values.put(name, value.getAsLong()));
+    gauges.forEach((name, value) -> values.put(name, value.getAsLong()));
+    return values;
+  }
+
+  /** Everything in the Prometheus text exposition format, histograms as summaries. */
+  public String toPrometheusText() {
+    PrometheusFormat format = new PrometheusFormat();
+    counters.forEach((name, value) -> format.counter(name, value.getAsLong()));
+    gauges.forEach((name, value) -> format.gauge(name, value.getAsLong()));
+    histograms.forEach(format::summary);
+    return format.toString();
+  }
+}
@@ -0,0 +1,85 @@
+package me.hajk1.infrastructure.metrics;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Builds the Prometheus text exposition format (version 0.0.4). Registry names already carry their
+ * labels ({@code circuit_breaker_state{dependency="fx"}}), so the family is everything before the
+ * brace and series of one family are grouped under a single {@code # TYPE} line.
+ *
+ * <p>Histograms go out as summaries: quantiles from the recent window, {@code _sum}/{@code _count}
+ * since startup. Quantiles can't be aggregated across instances, but they're what we alert on and
+ * they keep the scrape small.
+ */
+final class PrometheusFormat {
+
+  private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+  private static final String[] QUANTILE_LABELS = {"0.5", "0.9", "0.99", "0.999"};
+
+  private final Map<String, Family> families = new TreeMap<>();
+
+  void counter(String name, long value) {
+    family(name, "counter").series.put(name, List.of(name + " " + value));
+  }
+
+  void gauge(String name, long value) {
+    family(name, "gauge").series.put(name, List.of(name + " " + value));
+  }
+
+  void summary(String name, Histogram histogram) {
+    long[] values = histogram.valuesAtPercentiles(PERCENTILES);
+    List<String> lines = new ArrayList<>(PERCENTILES.length + 2);
+    for (int i = 0; i < PERCENTILES.length; i++) {
+      lines.add(withLabel(name, "quantile", QUANTILE_LABELS[i]) + " " + values[i]);
+    }
+    lines.add(withSuffix(name, "_sum") + " " + histogram.totalSum());
+    lines.add(withSuffix(name, "_count") + " " + histogram.totalCount());
+    family(name, "summary").series.put(name, lines);
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder out = new StringBuilder(families.size() * 128);
+    families.forEach(
+        (family, entry) -> {
+          out.append("# TYPE ").append(family).append(' ').append(entry.type).append('\n');
+          entry.series.values().forEach(lines -> lines.forEach(l -> out.append(l).append('\n')));
+        });
+    return out.toString();
+  }
+
+  private Family family(String name, String type) {
+    return families.computeIfAbsent(familyOf(name), f -> new Family(type));
+  }
+
+  static String familyOf(String name) {
+    int brace = name.indexOf('{');
+    return brace < 0 ? name : name.substring(0, brace);
+  }
+
+  static String withLabel(String name, String label, String value) {
+    String pair = label + "=\"" + value + "\"";
+    int close = name.lastIndexOf('}');
+    return close < 0
+        ? name + "{" + pair + "}"
+        : name.substring(0, close) + "," + pair + name.substring(close);
+  }
+
+  static String withSuffix(String name, String suffix) {
+    String family = familyOf(name);
+    return family + suffix + name.substring(family.length());
+  }
+
+  private static final class Family {
+    private final String type;
+    // Sorted so consecutive scrapes list series in the same order
+    private final Map<String, List<String>> series = new TreeMap<>();
+
+    Family(String type) {
+      this.type = type;
+    }
+  }
+}
@@ -0,0 +1,49 @@
+package me.hajk1.infrastructure.metrics;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import me.hajk1.domain.service.QuoteMetrics;
+
+/**
+ * {@link QuoteMetrics} backed by the registry: one histogram per stage ({@code
+ * quote_stage_latency_us{stage="fx"}}) and counters for degraded promos and response classes.
+ * Everything is looked up once here, so recording is an array index plus the histogram update.
+ */
+public class QuoteStageMetrics implements QuoteMetrics {
+
+  private final Histogram[] stages = new Histogram[Stage.values().length];
+  private final LongAdder promoDegraded;
+  private final LongAdder[] responses = new LongAdder[6];
+
+  public QuoteStageMetrics(MetricsRegistry metrics) {
+    for (Stage stage : Stage.values()) {
+      stages[stage.ordinal()] =
+          metrics.histogram(
+              "quote_stage_latency_us{stage=\"" + stage.name().toLowerCase(Locale.ROOT) + "\"}");
+    }
+    promoDegraded = metrics.counter("promo_degraded_total");
+    for (int statusClass = 2; statusClass <= 5; statusClass++) {
+      responses[statusClass] =
+          metrics.counter("quote_responses_total{status=\"" + statusClass + "xx\"}");
+    }
+  }
+
+  @Override
+  public void recordStage(Stage stage, long nanos) {
+    stages[stage.ordinal()].record(TimeUnit.NANOSECONDS.toMicros(nanos));
+  }
+
+  @Override
+  public void promoDegraded() {
+    promoDegraded.increment();
+  }
+
+  /** Counts a quote response by status class (2xx..5xx). */
+  public void response(int statusCode) {
+    int statusClass = statusCode / 100;
+    if (statusClass >= 2 && statusClass <= 5) {
+      responses[statusClass].increment();
+    }
+  }
+}
@@ -0,0 +1,153 @@
+package me.hajk1.domain.component;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.junit5.VertxTestContext;
+import java.math.BigDecimal;
+import me.hajk1.domain.model.CabinClass;
+import me.hajk1.domain.model.CustomerTier;
+import me.hajk1.domain.model.PointsQuoteRequest;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("Points Quote - Batch Endpoint")
+class BatchQuoteComponentTest extends ComponentTestBase {
+
+  @Override
+  protected JsonObject applicationConfig() {
+    return super.applicationConfig().put("batch.maxSize", 3);
+  }
+
+  @Test
+  @DisplayName("Should return per-item results in request order")
+  void shouldReturnResultsInOrder(VertxTestContext testContext) {
+    stubFxRate("USD", 3.67);
+    stubPromoCode("SUMMER25", 25, false);
+
+    var batch =
+        new JsonArray()
+            .add(JsonObject.mapFrom(request(1234.50, "SUMMER25")))
+            .add(JsonObject.mapFrom(request(-100, null)))
+            .add(JsonObject.mapFrom(request(1234.50, null)));
+
+    client
+        .post(serverPort, "localhost", "/v1/points/quote/batch")
+        .sendJson(batch)
+        .onComplete(
+            testContext.succeeding(
+                response ->
+                    testContext.verify(
+                        () -> {
+                          assertThat(response.statusCode()).isEqualTo(200);
+
+                          var results = response.bodyAsJsonObject().getJsonArray("results");
+                          assertThat(results).hasSize(3);
+
+                          var first = results.getJsonObject(0);
+                          assertThat(first.getInteger("status")).isEqualTo(200);
+                          assertThat(first.getJsonObject("quote").getInteger("totalPoints"))
+                              .isEqualTo(6512);
+
+                          var second = results.getJsonObject(1);
+                          assertThat(second.getInteger("status")).isEqualTo(400);
+                          assertThat(second.getString("error")).contains("positive");
+
+                          var third = results.getJsonObject(2);
+                          assertThat(third.getJsonObject("quote").getInteger("totalPoints"))
+                              .isEqualTo(5210);
+
+                          testContext.completeNow();
+                        })));
+  }
+
+  @Test
+  @DisplayName("Should share FX and promo lookups across the batch")
+  void shouldDeduplicateLookups(VertxTestContext testContext) {
+    // Slow responses keep lookups in flight so every item needs them at the same time
+    fxServiceMock.stubFor(
+        get(urlPathEqualTo("/fx/rates"))
+            .willReturn(
+                aResponse()
+                    .withStatus(200)
+                    .withFixedDelay(200)
+                    .withHeader("Content-Type", "application/json")
+                    .withBody("{\"rate\": 3.67}")));
+    stubPromoCode("SUMMER25", 25, false);
+
+    var batch =
+        new JsonArray()
+            .add(JsonObject.mapFrom(request(100, "SUMMER25")))
+            .add(JsonObject.mapFrom(request(200, "SUMMER25")))
+            .add(JsonObject.mapFrom(request(300, "SUMMER25")));
+
+    client
+        .post(serverPort, "localhost", "/v1/points/quote/batch")
+        .sendJson(batch)
+        .onComplete(
+            testContext.succeeding(
+                response ->
+                    testContext.verify(
+                        () -> {
+                          assertThat(response.statusCode()).isEqualTo(200);
+
+                          fxServiceMock.verify(1, getRequestedFor(urlPathEqualTo("/fx/rates")));
+                          promoServiceMock.verify(
+                              1, getRequestedFor(urlPathEqualTo("/promo/SUMMER25")));
+
+                          testContext.completeNow();
+                        })));
+  }
+
+  @Test
+  @DisplayName("Should reject batches over the size limit")
+  void shouldRejectOversizedBatch(VertxTestContext testContext) {
+    var batch = new JsonArray();
+    for (int i = 0; i < 4; i++) {
+      batch.add(JsonObject.mapFrom(request(100, null)));
+    }
+
+    client
+        .post(serverPort, "localhost", "/v1/points/quote/batch")
+        .sendJson(batch)
+        .onComplete(
+            testContext.succeeding(
+                response ->
+                    testContext.verify(
+                        () -> {
+                          assertThat(response.statusCode()).isEqualTo(400);
+                          assertThat(response.bodyAsJsonObject().getString("error"))
+                              .contains("Batch size");
+
+                          testContext.completeNow();
+                        })));
+  }
+
+  @Test
+  @DisplayName("Should reject a body that is not a JSON array")
+  void shouldRejectNonArrayBody(VertxTestContext testContext) {
+    client
+        .post(serverPort, "localhost", "/v1/points/quote/batch")
+        .sendJsonObject(JsonObject.mapFrom(request(100, null)))
+        .onComplete(
+            testContext.succeeding(
+                response ->
+                    testContext.verify(
+                        () -> {
+                          assertThat(response.statusCode()).isEqualTo(400);
+                          testContext.completeNow();
+                        })));
+  }
+
+  private static PointsQuoteRequest request(double fare, String promoCode) {
+    return PointsQuoteRequest.builder()
+        .fareAmount(BigDecimal.valueOf(fare))
+        .currency("USD")
+        .cabinClass(CabinClass.ECONOMY)
+        .customerTier(CustomerTier.SILVER)
+        .promoCode(promoCode)
+        .build();
+  }
+}
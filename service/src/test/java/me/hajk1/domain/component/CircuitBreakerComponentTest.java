@@ -0,0 +1,89 @@
+package me.hajk1.domain.component;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.vertx.core.Future;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.web.client.HttpResponse;
+import io.vertx.junit5.VertxTestContext;
+import java.math.BigDecimal;
+import me.hajk1.domain.model.CabinClass;
+import me.hajk1.domain.model.CustomerTier;
+import me.hajk1.domain.model.PointsQuoteRequest;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("Circuit Breakers")
+class CircuitBreakerComponentTest extends ComponentTestBase {
+
+  @Override
+  protected JsonObject applicationConfig() {
+    return super.applicationConfig()
+        .put("fx.breaker.failureThreshold", 2)
+        .put("promo.breaker.failureThreshold", 2)
+        .put("fx.retry.backoff.initial.ms", 0);
+  }
+
+  @Test
+  @DisplayName("Should skip promo calls once the promo breaker is open")
+  void shouldSkipPromoWhenBreakerOpen(VertxTestContext testContext) {
+    stubFxRate("USD", 3.0);
+    promoServiceMock.stubFor(
+        get(urlPathEqualTo("/promo/BROKEN")).willReturn(aResponse().withStatus(500)));
+
+    quote("BROKEN")
+        .compose(first -> quote("BROKEN"))
+        .compose(second -> quote("BROKEN"))
+        .onComplete(
+            testContext.succeeding(
+                response ->
+                    testContext.verify(
+                        () -> {
+                          // Degraded to no promo without hitting the promo service again
+                          assertThat(response.statusCode()).isEqualTo(200);
+                          assertThat(response.bodyAsJsonObject().getInteger("promoBonus")).isZero();
+                          assertThat(response.bodyAsJsonObject().getInteger("totalPoints"))
+                              .isEqualTo(3450);
+                          promoServiceMock.verify(
+                              2, getRequestedFor(urlPathEqualTo("/promo/BROKEN")));
+
+                          testContext.completeNow();
+                        })));
+  }
+
+  @Test
+  @DisplayName("Should stop retrying FX once the FX breaker opens")
+  void shouldStopFxRetriesWhenBreakerOpens(VertxTestContext testContext) {
+    fxServiceMock.stubFor(get(urlPathEqualTo("/fx/rates")).willReturn(aResponse().withStatus(503)));
+
+    quote(null)
+        .compose(first -> quote(null))
+        .onComplete(
+            testContext.succeeding(
+                response ->
+                    testContext.verify(
+                        () -> {
+                          assertThat(response.statusCode()).isEqualTo(500);
+                          // Two failed attempts open the breaker; the rest fail fast
+                          fxServiceMock.verify(2, getRequestedFor(urlPathEqualTo("/fx/rates")));
+
+                          testContext.completeNow();
+                        })));
+  }
+
+  private Future<HttpResponse<Buffer>> quote(String promoCode) {
+    var request =
+        PointsQuoteRequest.builder()
+            .fareAmount(BigDecimal.valueOf(1000))
+            .currency("USD")
+            .cabinClass(CabinClass.ECONOMY)
+            .customerTier(CustomerTier.SILVER)
+            .promoCode(promoCode)
+            .build();
+    return client
+        .post(serverPort, "localhost", "/v1/points/quote")
+        .sendJsonObject(JsonObject.mapFrom(request));
+  }
+}
@@ -4,6 +4,7 @@ import static com.github.tomakehurst.wiremock.client.WireMock.*;
 
 import com.github.tomakehurst.wiremock.WireMockServer;
 import com.github.tomakehurst.wiremock.core.WireMockConfiguration;
+import io.vertx.core.DeploymentOptions;
 import io.vertx.core.Vertx;
 import io.vertx.core.json.JsonObject;
 import io.vertx.ext.web.client.WebClient;
@@ -38,22 +39,29 @@ public abstract class ComponentTestBase {
     client = WebClient.create(vertx);
 
     // Deploy application with fixed test port
-    JsonObject config =
-        new JsonObject()
-            .put("http.port", serverPort)
-            .put("fx.service.url", "http://localhost:" + fxServiceMock.port())
-            .put("promo.service.url", "http://localhost:" + promoServiceMock.port())
-            .put("fx.retry.maxAttempts", 3) // 3 total attempts
-            .put("promo.timeout.ms", 2000);
-
     vertx
-        .deployVerticle(new Application(), new io.vertx.core.DeploymentOptions().setConfig(config))
+        .deployVerticle(new Application(), deploymentOptions())
         .onComplete(testContext.succeeding(id -> testContext.completeNow()));
 
     // Wait for deployment to complete
     testContext.awaitCompletion(5, TimeUnit.SECONDS);
   }
 
+  /** How the verticle is deployed; tests of another threading model override this. */
+  protected DeploymentOptions deploymentOptions() {
+    return new DeploymentOptions().setConfig(applicationConfig());
+  }
+
+  /** Verticle config; tests that need a feature switched on override and extend this. */
+  protected JsonObject applicationConfig() {
+    return new JsonObject()
+        .put("http.port", serverPort)
+        .put("fx.service.url", "http://localhost:" + fxServiceMock.port())
+        .put("promo.service.url", "http://localhost:" + promoServiceMock.port())
+        .put("fx.retry.maxAttempts", 3) // 3 total attempts
+        .put("promo.timeout.ms", 2000);
+  }
+
   @AfterEach
   void tearDown(Vertx vertx, VertxTestContext testContext) {
     if (client != null) {
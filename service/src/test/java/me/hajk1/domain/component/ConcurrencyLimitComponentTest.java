@@ -0,0 +1,82 @@
+package me.hajk1.domain.component;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.web.client.HttpResponse;
+import io.vertx.junit5.VertxTestContext;
+import java.math.BigDecimal;
+import me.hajk1.domain.model.CabinClass;
+import me.hajk1.domain.model.CustomerTier;
+import me.hajk1.domain.model.PointsQuoteRequest;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("Quote Route - Concurrency Limit")
+class ConcurrencyLimitComponentTest extends ComponentTestBase {
+
+  @Override
+  protected JsonObject applicationConfig() {
+    // Room for exactly one quote in flight
+    return super.applicationConfig()
+        .put("quote.limit.initial", 1)
+        .put("quote.limit.min", 1)
+        .put("quote.limit.max", 1);
+  }
+
+  @Test
+  @DisplayName("Should shed quotes past the limit with 503 and Retry-After")
+  void shouldShedQuotesPastTheLimit(Vertx vertx, VertxTestContext testContext) {
+    fxServiceMock.stubFor(
+        get(urlPathEqualTo("/fx/rates"))
+            .willReturn(
+                aResponse()
+                    .withStatus(200)
+                    .withHeader("Content-Type", "application/json")
+                    .withBody("{\"rate\": 3.67}")
+                    .withFixedDelay(500)));
+
+    Future<HttpResponse<Buffer>> slow = quote();
+    Future<HttpResponse<Buffer>> shed =
+        Future.future(promise -> vertx.setTimer(100, id -> quote().onComplete(promise)));
+
+    Future.all(slow, shed)
+        .compose(done -> client.get(serverPort, "localhost", "/metrics").send())
+        .onComplete(
+            testContext.succeeding(
+                metrics ->
+                    testContext.verify(
+                        () -> {
+                          assertThat(slow.result().statusCode()).isEqualTo(200);
+                          assertThat(shed.result().statusCode()).isEqualTo(503);
+                          assertThat(shed.result().getHeader("Retry-After")).isEqualTo("1");
+                          assertThat(shed.result().bodyAsJsonObject().getString("error"))
+                              .isEqualTo("Service overloaded, retry later");
+                          // Shed before any upstream work
+                          fxServiceMock.verify(1, getRequestedFor(urlPathEqualTo("/fx/rates")));
+                          assertThat(metrics.bodyAsString())
+                              .contains("quote_shed_total 1")
+                              .contains("quote_in_flight 0")
+                              .contains("quote_concurrency_limit 1");
+
+                          testContext.completeNow();
+                        })));
+  }
+
+  private Future<HttpResponse<Buffer>> quote() {
+    var request =
+        PointsQuoteRequest.builder()
+            .fareAmount(BigDecimal.valueOf(100))
+            .currency("USD")
+            .cabinClass(CabinClass.ECONOMY)
+            .customerTier(CustomerTier.NONE)
+            .build();
+    return client
+        .post(serverPort, "localhost", "/v1/points/quote")
+        .sendJsonObject(JsonObject.mapFrom(request));
+  }
+}
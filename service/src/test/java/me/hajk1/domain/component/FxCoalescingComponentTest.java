@@ -0,0 +1,118 @@
+package me.hajk1.domain.component;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.vertx.core.Future;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.web.client.HttpResponse;
+import io.vertx.junit5.VertxTestContext;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import me.hajk1.domain.model.CabinClass;
+import me.hajk1.domain.model.CustomerTier;
+import me.hajk1.domain.model.PointsQuoteRequest;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("FX Service - Request Coalescing")
+class FxCoalescingComponentTest extends ComponentTestBase {
+
+  @Test
+  @DisplayName("Should share one FX call between concurrent quotes for the same currency")
+  void shouldCoalesceConcurrentLookups(VertxTestContext testContext) {
+    // Slow FX response keeps the first lookup in flight while the others arrive
+    fxServiceMock.stubFor(
+        get(urlPathEqualTo("/fx/rates"))
+            .withQueryParam("from", equalTo("USD"))
+            .willReturn(
+                aResponse()
+                    .withStatus(200)
+                    .withFixedDelay(300)
+                    .withHeader("Content-Type", "application/json")
+                    .withBody(
+                        """
+                        {
+                            "rate": 3.67,
+                            "timestamp": "2025-11-25T10:00:00Z"
+                        }
+                        """)));
+
+    var request =
+        PointsQuoteRequest.builder()
+            .fareAmount(BigDecimal.valueOf(100))
+            .currency("USD")
+            .cabinClass(CabinClass.ECONOMY)
+            .customerTier(CustomerTier.NONE)
+            .build();
+
+    List<Future<HttpResponse<Buffer>>> responses = new ArrayList<>();
+    for (int i = 0; i < 5; i++) {
+      responses.add(
+          client
+              .post(serverPort, "localhost", "/v1/points/quote")
+              .sendJsonObject(JsonObject.mapFrom(request)));
+    }
+
+    Future.all(responses)
+        .onComplete(
+            testContext.succeeding(
+                all ->
+                    testContext.verify(
+                        () -> {
+                          for (var response : responses) {
+                            assertThat(response.result().statusCode()).isEqualTo(200);
+                          }
+                          fxServiceMock.verify(1, getRequestedFor(urlPathEqualTo("/fx/rates")));
+
+                          testContext.completeNow();
+                        })));
+  }
+
+  @Test
+  @DisplayName("Should time out only the caller whose own deadline runs out on a shared call")
+  void shouldApplyEachCallersDeadlineToSharedLookup(VertxTestContext testContext) {
+    fxServiceMock.stubFor(
+        get(urlPathEqualTo("/fx/rates"))
+            .willReturn(
+                aResponse()
+                    .withStatus(200)
+                    .withFixedDelay(500)
+                    .withHeader("Content-Type", "application/json")
+                    .withBody("{\"rate\": 3.67}")));
+
+    var request =
+        PointsQuoteRequest.builder()
+            .fareAmount(BigDecimal.valueOf(100))
+            .currency("USD")
+            .cabinClass(CabinClass.ECONOMY)
+            .customerTier(CustomerTier.NONE)
+            .build();
+
+    // Whichever arrives first starts the FX call; the impatient one must not take the other down
+    Future<HttpResponse<Buffer>> impatient =
+        client
+            .post(serverPort, "localhost", "/v1/points/quote")
+            .putHeader("X-Request-Timeout-Ms", "100")
+            .sendJsonObject(JsonObject.mapFrom(request));
+    Future<HttpResponse<Buffer>> patient =
+        client
+            .post(serverPort, "localhost", "/v1/points/quote")
+            .sendJsonObject(JsonObject.mapFrom(request));
+
+    Future.all(impatient, patient)
+        .onComplete(
+            testContext.succeeding(
+                all ->
+                    testContext.verify(
+                        () -> {
+                          assertThat(impatient.result().statusCode()).isEqualTo(504);
+                          assertThat(patient.result().statusCode()).isEqualTo(200);
+                          fxServiceMock.verify(1, getRequestedFor(urlPathEqualTo("/fx/rates")));
+
+                          testContext.completeNow();
+                        })));
+  }
+}
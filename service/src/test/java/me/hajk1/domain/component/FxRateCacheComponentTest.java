@@ -0,0 +1,87 @@
+package me.hajk1.domain.component;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.vertx.core.json.JsonObject;
+import io.vertx.junit5.VertxTestContext;
+import java.math.BigDecimal;
+import me.hajk1.domain.model.CabinClass;
+import me.hajk1.domain.model.CustomerTier;
+import me.hajk1.domain.model.PointsQuoteRequest;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("FX Service - Rate Cache")
+class FxRateCacheComponentTest extends ComponentTestBase {
+
+  @Test
+  @DisplayName("Should serve repeated quotes for the same currency from cache")
+  void shouldServeRepeatedQuotesFromCache(VertxTestContext testContext) {
+    stubFxRate("USD", 3.67);
+
+    var request =
+        PointsQuoteRequest.builder()
+            .fareAmount(BigDecimal.valueOf(100))
+            .currency("USD")
+            .cabinClass(CabinClass.ECONOMY)
+            .customerTier(CustomerTier.NONE)
+            .build();
+
+    client
+        .post(serverPort, "localhost", "/v1/points/quote")
+        .sendJsonObject(JsonObject.mapFrom(request))
+        .compose(
+            first ->
+                client
+                    .post(serverPort, "localhost", "/v1/points/quote")
+                    .sendJsonObject(JsonObject.mapFrom(request)))
+        .onComplete(
+            testContext.succeeding(
+                response ->
+                    testContext.verify(
+                        () -> {
+                          assertThat(response.statusCode()).isEqualTo(200);
+                          assertThat(response.bodyAsJsonObject().getInteger("basePoints"))
+                              .isEqualTo(367);
+
+                          // Second quote must not reach the FX service
+                          fxServiceMock.verify(1, getRequestedFor(urlPathEqualTo("/fx/rates")));
+
+                          testContext.completeNow();
+                        })));
+  }
+
+  @Test
+  @DisplayName("Should not cache failed FX lookups")
+  void shouldNotCacheFailedLookups(VertxTestContext testContext) {
+    fxServiceMock.stubFor(get(urlPathEqualTo("/fx/rates")).willReturn(aResponse().withStatus(503)));
+
+    var request =
+        PointsQuoteRequest.builder()
+            .fareAmount(BigDecimal.valueOf(100))
+            .currency("USD")
+            .cabinClass(CabinClass.ECONOMY)
+            .customerTier(CustomerTier.NONE)
+            .build();
+
+    client
+        .post(serverPort, "localhost", "/v1/points/quote")
+        .sendJsonObject(JsonObject.mapFrom(request))
+        .compose(
+            first -> {
+              stubFxRate("USD", 3.67);
+              return client
+                  .post(serverPort, "localhost", "/v1/points/quote")
+                  .sendJsonObject(JsonObject.mapFrom(request));
+            })
+        .onComplete(
+            testContext.succeeding(
+                response ->
+                    testContext.verify(
+                        () -> {
+                          assertThat(response.statusCode()).isEqualTo(200);
+                          testContext.completeNow();
+                        })));
+  }
+}
@@ -0,0 +1,92 @@
+package me.hajk1.domain.component;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonObject;
+import io.vertx.junit5.VertxTestContext;
+import java.math.BigDecimal;
+import me.hajk1.domain.model.CabinClass;
+import me.hajk1.domain.model.CustomerTier;
+import me.hajk1.domain.model.PointsQuoteRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("FX Service - Polled Rate Table")
+class FxRateTableComponentTest extends ComponentTestBase {
+
+  @BeforeEach
+  void stubRateTable(Vertx vertx, VertxTestContext testContext) {
+    // The first poll runs during deployment, before this stub exists; poll again with it in place
+    fxServiceMock.stubFor(
+        get(urlPathEqualTo("/fx/rates/table"))
+            .withQueryParam("to", equalTo("AED"))
+            .willReturn(
+                aResponse()
+                    .withStatus(200)
+                    .withHeader("Content-Type", "application/json")
+                    .withBody(
+                        """
+                        {"to":"AED","rates":{"USD":3.67,"EUR":4.05},\
+                        "timestamp":"2025-11-25T10:00:00Z"}""")));
+    vertx.setTimer(300, id -> testContext.completeNow());
+  }
+
+  @Override
+  protected JsonObject applicationConfig() {
+    return super.applicationConfig().put("fx.table.enabled", true).put("fx.table.poll.ms", 100);
+  }
+
+  @Test
+  @DisplayName("Should quote table currencies without per-pair FX calls")
+  void shouldQuoteFromTable(VertxTestContext testContext) {
+    quote("USD")
+        .compose(first -> quote("EUR"))
+        .onComplete(
+            testContext.succeeding(
+                response ->
+                    testContext.verify(
+                        () -> {
+                          assertThat(response.getInteger("basePoints")).isEqualTo(405);
+                          fxServiceMock.verify(0, getRequestedFor(urlPathEqualTo("/fx/rates")));
+                          testContext.completeNow();
+                        })));
+  }
+
+  @Test
+  @DisplayName("Should fall back to a per-pair lookup for currencies missing from the table")
+  void shouldFallBackForMissingCurrency(VertxTestContext testContext) {
+    stubFxRate("CHF", 4.20);
+
+    quote("CHF")
+        .onComplete(
+            testContext.succeeding(
+                response ->
+                    testContext.verify(
+                        () -> {
+                          assertThat(response.getInteger("basePoints")).isEqualTo(420);
+                          fxServiceMock.verify(
+                              1,
+                              getRequestedFor(urlPathEqualTo("/fx/rates"))
+                                  .withQueryParam("from", equalTo("CHF")));
+                          testContext.completeNow();
+                        })));
+  }
+
+  private Future<JsonObject> quote(String currency) {
+    var request =
+        PointsQuoteRequest.builder()
+            .fareAmount(BigDecimal.valueOf(100))
+            .currency(currency)
+            .cabinClass(CabinClass.ECONOMY)
+            .customerTier(CustomerTier.NONE)
+            .build();
+    return client
+        .post(serverPort, "localhost", "/v1/points/quote")
+        .sendJsonObject(JsonObject.mapFrom(request))
+        .map(response -> response.bodyAsJsonObject());
+  }
+}
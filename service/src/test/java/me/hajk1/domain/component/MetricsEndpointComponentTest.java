@@ -0,0 +1,93 @@
+package me.hajk1.domain.component;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.vertx.core.Future;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.web.client.HttpResponse;
+import io.vertx.junit5.VertxTestContext;
+import java.math.BigDecimal;
+import me.hajk1.domain.model.CabinClass;
+import me.hajk1.domain.model.CustomerTier;
+import me.hajk1.domain.model.PointsQuoteRequest;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("Metrics Endpoint")
+class MetricsEndpointComponentTest extends ComponentTestBase {
+
+  @Test
+  @DisplayName("Should expose per-stage latencies and response counts in Prometheus format")
+  void shouldExposeStageMetrics(VertxTestContext testContext) {
+    stubFxRate("USD", 3.67);
+    stubPromoCode("SUMMER25", 25, false);
+
+    quote("SUMMER25", BigDecimal.valueOf(1234.50))
+        .compose(ok -> quote(null, BigDecimal.valueOf(-1)))
+        .compose(rejected -> client.get(serverPort, "localhost", "/metrics").send())
+        .onComplete(
+            testContext.succeeding(
+                response ->
+                    testContext.verify(
+                        () -> {
+                          assertThat(response.statusCode()).isEqualTo(200);
+                          assertThat(response.getHeader("Content-Type")).startsWith("text/plain");
+                          assertThat(response.bodyAsString())
+                              .contains("# TYPE quote_stage_latency_us summary")
+                              .contains("quote_stage_latency_us_count{stage=\"decode\"} 2")
+                              .contains("quote_stage_latency_us_count{stage=\"validation\"} 2")
+                              .contains("quote_stage_latency_us_count{stage=\"fx\"} 1")
+                              .contains("quote_stage_latency_us_count{stage=\"promo\"} 1")
+                              .contains("quote_stage_latency_us_count{stage=\"calculation\"} 1")
+                              .contains("quote_stage_latency_us_count{stage=\"encode\"} 1")
+                              .contains("quote_stage_latency_us_count{stage=\"total\"} 2")
+                              .contains("quote_responses_total{status=\"2xx\"} 1")
+                              .contains("quote_responses_total{status=\"4xx\"} 1")
+                              .contains("fx_latency_us_count 1");
+
+                          testContext.completeNow();
+                        })));
+  }
+
+  @Test
+  @DisplayName("Should count quotes that went out without their promo")
+  void shouldCountDegradedPromos(VertxTestContext testContext) {
+    stubFxRate("USD", 3.0);
+    promoServiceMock.stubFor(
+        get(urlPathEqualTo("/promo/BROKEN")).willReturn(aResponse().withStatus(500)));
+    promoServiceMock.stubFor(
+        get(urlPathEqualTo("/promo/UNKNOWN")).willReturn(aResponse().withStatus(404)));
+
+    quote("BROKEN", BigDecimal.valueOf(1000))
+        .compose(degraded -> quote("UNKNOWN", BigDecimal.valueOf(1000)))
+        .compose(notFound -> client.get(serverPort, "localhost", "/metrics").send())
+        .onComplete(
+            testContext.succeeding(
+                response ->
+                    testContext.verify(
+                        () -> {
+                          // An unknown code is a normal answer, only the 500 degraded the quote
+                          assertThat(response.bodyAsString())
+                              .contains("promo_degraded_total 1")
+                              .contains("quote_responses_total{status=\"2xx\"} 2");
+
+                          testContext.completeNow();
+                        })));
+  }
+
+  private Future<HttpResponse<Buffer>> quote(String promoCode, BigDecimal fareAmount) {
+    var request =
+        PointsQuoteRequest.builder()
+            .fareAmount(fareAmount)
+            .currency("USD")
+            .cabinClass(CabinClass.ECONOMY)
+            .customerTier(CustomerTier.SILVER)
+            .promoCode(promoCode)
+            .build();
+    return client
+        .post(serverPort, "localhost", "/v1/points/quote")
+        .sendJsonObject(JsonObject.mapFrom(request));
+  }
+}
@@ -0,0 +1,63 @@
+package me.hajk1.domain.component;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.vertx.core.Vertx;
+import io.vertx.core.http.HttpServerOptions;
+import io.vertx.core.json.JsonObject;
+import io.vertx.junit5.VertxTestContext;
+import java.math.BigDecimal;
+import me.hajk1.domain.model.CabinClass;
+import me.hajk1.domain.model.CustomerTier;
+import me.hajk1.domain.model.PointsQuoteRequest;
+import me.hajk1.infrastructure.config.HttpServerSettings;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/** Native transport asked for, on the test's plain Vert.x: the service has to fall back to NIO. */
+@DisplayName("Quote Route - Native Transport Fallback")
+class NativeTransportComponentTest extends ComponentTestBase {
+
+  @Override
+  protected JsonObject applicationConfig() {
+    return super.applicationConfig().put("http.nativeTransport", true);
+  }
+
+  @Test
+  @DisplayName("Should serve quotes over NIO when native transport isn't enabled")
+  void shouldServeQuotesOverNio(Vertx vertx, VertxTestContext testContext) {
+    stubFxRate("USD", 3.67);
+
+    var request =
+        PointsQuoteRequest.builder()
+            .fareAmount(BigDecimal.valueOf(100))
+            .currency("USD")
+            .cabinClass(CabinClass.ECONOMY)
+            .customerTier(CustomerTier.NONE)
+            .build();
+
+    client
+        .post(serverPort, "localhost", "/v1/points/quote")
+        .sendJsonObject(JsonObject.mapFrom(request))
+        .onComplete(
+            testContext.succeeding(
+                response ->
+                    testContext.verify(
+                        () -> {
+                          assertThat(vertx.isNativeTransportEnabled()).isFalse();
+                          assertThat(response.statusCode()).isEqualTo(200);
+                          assertThat(response.bodyAsJsonObject().getInteger("totalPoints"))
+                              .isEqualTo(367);
+
+                          // Epoll-only socket options stay off rather than half-applied
+                          HttpServerOptions options =
+                              HttpServerSettings.fromConfig(applicationConfig())
+                                  .serverOptions(vertx);
+                          assertThat(options.isTcpFastOpen()).isFalse();
+                          assertThat(options.isTcpQuickAck()).isFalse();
+                          assertThat(options.isReusePort()).isFalse();
+
+                          testContext.completeNow();
+                        })));
+  }
+}
@@ -1,5 +1,6 @@
 package me.hajk1.domain.component;
 
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
 import static org.assertj.core.api.Assertions.assertThat;
 
 import io.vertx.core.json.JsonObject;
@@ -216,4 +217,67 @@ class PointsQuoteComponentTest extends ComponentTestBase {
                           testContext.completeNow();
                         })));
   }
+
+  @Test
+  @DisplayName("Should look up FX rate and promo concurrently")
+  void shouldLookUpFxAndPromoConcurrently(VertxTestContext testContext) {
+    fxServiceMock.stubFor(
+        get(urlPathEqualTo("/fx/rates"))
+            .willReturn(
+                aResponse()
+                    .withStatus(200)
+                    .withFixedDelay(600)
+                    .withHeader("Content-Type", "application/json")
+                    .withBody(
+                        """
+                        {
+                            "rate": 3.67,
+                            "timestamp": "2025-11-25T10:00:00Z"
+                        }
+                        """)));
+    promoServiceMock.stubFor(
+        get(urlPathEqualTo("/promo/SUMMER25"))
+            .willReturn(
+                aResponse()
+                    .withStatus(200)
+                    .withFixedDelay(600)
+                    .withHeader("Content-Type", "application/json")
+                    .withBody(
+                        """
+                        {
+                            "code": "SUMMER25",
+                            "bonusPercentage": 25,
+                            "expiresInDays": 30
+                        }
+                        """)));
+
+    var request =
+        PointsQuoteRequest.builder()
+            .fareAmount(BigDecimal.valueOf(1234.50))
+            .currency("USD")
+            .cabinClass(CabinClass.ECONOMY)
+            .customerTier(CustomerTier.SILVER)
+            .promoCode("SUMMER25")
+            .build();
+
+    long start = System.currentTimeMillis();
+    client
+        .post(serverPort, "localhost", "/v1/points/quote")
+        .sendJsonObject(JsonObject.mapFrom(request))
+        .onComplete(
+            testContext.succeeding(
+                response ->
+                    testContext.verify(
+                        () -> {
+                          long elapsed = System.currentTimeMillis() - start;
+
+                          assertThat(response.statusCode()).isEqualTo(200);
+                          assertThat(response.bodyAsJsonObject().getInteger("totalPoints"))
+                              .isEqualTo(6512);
+                          // Sequential lookups would take at least 1200ms
+                          assertThat(elapsed).isLessThan(1100);
+
+                          testContext.completeNow();
+                        })));
+  }
 }
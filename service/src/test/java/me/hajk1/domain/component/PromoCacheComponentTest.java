@@ -0,0 +1,109 @@
+package me.hajk1.domain.component;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.vertx.core.Future;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.web.client.HttpResponse;
+import io.vertx.junit5.VertxTestContext;
+import java.math.BigDecimal;
+import me.hajk1.domain.model.CabinClass;
+import me.hajk1.domain.model.CustomerTier;
+import me.hajk1.domain.model.PointsQuoteRequest;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("Promo Service - Cache")
+class PromoCacheComponentTest extends ComponentTestBase {
+
+  @Test
+  @DisplayName("Should look up a valid promo code only once")
+  void shouldCacheValidPromoCode(VertxTestContext testContext) {
+    stubFxRate("USD", 3.0);
+    stubPromoCode("SUMMER25", 25, false);
+
+    quoteTwice("SUMMER25")
+        .onComplete(
+            testContext.succeeding(
+                response ->
+                    testContext.verify(
+                        () -> {
+                          assertThat(response.statusCode()).isEqualTo(200);
+                          assertThat(response.bodyAsJsonObject().getInteger("promoBonus"))
+                              .isEqualTo(862);
+
+                          promoServiceMock.verify(
+                              1, getRequestedFor(urlPathEqualTo("/promo/SUMMER25")));
+
+                          testContext.completeNow();
+                        })));
+  }
+
+  @Test
+  @DisplayName("Should remember unknown promo codes (404)")
+  void shouldNegativeCacheUnknownPromoCode(VertxTestContext testContext) {
+    stubFxRate("USD", 3.0);
+    promoServiceMock.stubFor(
+        get(urlPathEqualTo("/promo/INVALID")).willReturn(aResponse().withStatus(404)));
+
+    quoteTwice("INVALID")
+        .onComplete(
+            testContext.succeeding(
+                response ->
+                    testContext.verify(
+                        () -> {
+                          assertThat(response.statusCode()).isEqualTo(200);
+                          assertThat(response.bodyAsJsonObject().getInteger("promoBonus"))
+                              .isZero();
+
+                          promoServiceMock.verify(
+                              1, getRequestedFor(urlPathEqualTo("/promo/INVALID")));
+
+                          testContext.completeNow();
+                        })));
+  }
+
+  @Test
+  @DisplayName("Should not cache promo service errors")
+  void shouldNotCachePromoServiceErrors(VertxTestContext testContext) {
+    stubFxRate("USD", 3.0);
+    promoServiceMock.stubFor(
+        get(urlPathEqualTo("/promo/BROKEN")).willReturn(aResponse().withStatus(500)));
+
+    quoteTwice("BROKEN")
+        .onComplete(
+            testContext.succeeding(
+                response ->
+                    testContext.verify(
+                        () -> {
+                          assertThat(response.statusCode()).isEqualTo(200);
+
+                          promoServiceMock.verify(
+                              2, getRequestedFor(urlPathEqualTo("/promo/BROKEN")));
+
+                          testContext.completeNow();
+                        })));
+  }
+
+  private Future<HttpResponse<Buffer>> quoteTwice(String promoCode) {
+    var request =
+        PointsQuoteRequest.builder()
+            .fareAmount(BigDecimal.valueOf(1000))
+            .currency("USD")
+            .cabinClass(CabinClass.ECONOMY)
+            .customerTier(CustomerTier.SILVER)
+            .promoCode(promoCode)
+            .build();
+
+    return client
+        .post(serverPort, "localhost", "/v1/points/quote")
+        .sendJsonObject(JsonObject.mapFrom(request))
+        .compose(
+            first ->
+                client
+                    .post(serverPort, "localhost", "/v1/points/quote")
+                    .sendJsonObject(JsonObject.mapFrom(request)));
+  }
+}
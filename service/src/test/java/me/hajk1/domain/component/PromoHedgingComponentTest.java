@@ -0,0 +1,116 @@
+package me.hajk1.domain.component;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.web.client.HttpResponse;
+import io.vertx.junit5.VertxTestContext;
+import java.math.BigDecimal;
+import me.hajk1.domain.model.CabinClass;
+import me.hajk1.domain.model.CustomerTier;
+import me.hajk1.domain.model.PointsQuoteRequest;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("Promo Service - Hedging")
+class PromoHedgingComponentTest extends ComponentTestBase {
+
+  private static final String PROMO_BODY =
+      """
+      {
+          "code": "HEDGE",
+          "bonusPercentage": 25,
+          "expiresInDays": 30
+      }
+      """;
+
+  @Override
+  protected JsonObject applicationConfig() {
+    // Cache off so every quote reaches the promo service and feeds the latency histogram
+    return super.applicationConfig()
+        .put("promo.cache.enabled", false)
+        .put("promo.hedge.enabled", true)
+        .put("promo.hedge.percentile", 50.0)
+        .put("promo.hedge.minSamples", 5)
+        .put("promo.hedge.refresh.ms", 20)
+        .put("promo.hedge.budget.ratio", 1.0);
+  }
+
+  @Test
+  @DisplayName("Should answer from the hedge when the first promo request is slow")
+  void shouldHedgeSlowPromoLookup(Vertx vertx, VertxTestContext testContext) {
+    stubFxRate("USD", 3.0);
+    stubPromoCode("WARM", 10, false);
+
+    // First request for the code hangs, the hedge is answered straight away
+    promoServiceMock.stubFor(
+        get(urlPathEqualTo("/promo/HEDGE"))
+            .inScenario("Hedge")
+            .whenScenarioStateIs("Started")
+            .willReturn(
+                aResponse()
+                    .withStatus(200)
+                    .withHeader("Content-Type", "application/json")
+                    .withFixedDelay(1500)
+                    .withBody(PROMO_BODY))
+            .willSetStateTo("HEDGED"));
+    promoServiceMock.stubFor(
+        get(urlPathEqualTo("/promo/HEDGE"))
+            .inScenario("Hedge")
+            .whenScenarioStateIs("HEDGED")
+            .willReturn(
+                aResponse()
+                    .withStatus(200)
+                    .withHeader("Content-Type", "application/json")
+                    .withBody(PROMO_BODY)));
+
+    Future<HttpResponse<Buffer>> warmUp = Future.succeededFuture();
+    for (int i = 0; i < 5; i++) {
+      warmUp = warmUp.compose(ignored -> quote("WARM"));
+    }
+
+    long[] startNanos = new long[1];
+    warmUp
+        // Give the hedge delay a refresh with the warm-up samples in
+        .compose(ignored -> Future.<Long>future(p -> vertx.setTimer(100, p::complete)))
+        .compose(
+            ignored -> {
+              startNanos[0] = System.nanoTime();
+              return quote("HEDGE");
+            })
+        .onComplete(
+            testContext.succeeding(
+                response ->
+                    testContext.verify(
+                        () -> {
+                          long elapsedMs = (System.nanoTime() - startNanos[0]) / 1_000_000;
+
+                          assertThat(response.statusCode()).isEqualTo(200);
+                          assertThat(response.bodyAsJsonObject().getInteger("promoBonus"))
+                              .isEqualTo(750);
+                          assertThat(elapsedMs).isLessThan(1000);
+                          promoServiceMock.verify(
+                              2, getRequestedFor(urlPathEqualTo("/promo/HEDGE")));
+
+                          testContext.completeNow();
+                        })));
+  }
+
+  private Future<HttpResponse<Buffer>> quote(String promoCode) {
+    var request =
+        PointsQuoteRequest.builder()
+            .fareAmount(BigDecimal.valueOf(1000))
+            .currency("USD")
+            .cabinClass(CabinClass.ECONOMY)
+            .customerTier(CustomerTier.NONE)
+            .promoCode(promoCode)
+            .build();
+    return client
+        .post(serverPort, "localhost", "/v1/points/quote")
+        .sendJsonObject(JsonObject.mapFrom(request));
+  }
+}
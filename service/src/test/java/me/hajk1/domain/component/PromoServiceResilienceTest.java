@@ -86,15 +86,21 @@ class PromoServiceResilienceTest extends ComponentTestBase {
     client
         .post(serverPort, "localhost", "/v1/points/quote")
         .sendJsonObject(JsonObject.mapFrom(request))
+        .compose(
+            response -> {
+              assertThat(response.statusCode()).isEqualTo(200);
+              assertThat(response.bodyAsJsonObject().getInteger("promoBonus")).isZero();
+              return client.get(serverPort, "localhost", "/metrics").send();
+            })
         .onComplete(
             testContext.succeeding(
                 response ->
                     testContext.verify(
                         () -> {
-                          assertThat(response.statusCode()).isEqualTo(200);
-
-                          var body = response.bodyAsJsonObject();
-                          assertThat(body.getInteger("promoBonus")).isZero();
+                          // The timed-out lookup still counts, at the 2000 ms promo timeout
+                          assertThat(response.bodyAsString())
+                              .contains("promo_latency_us_count 1")
+                              .contains("promo_latency_us_sum 2000000");
 
                           testContext.completeNow();
                         })));
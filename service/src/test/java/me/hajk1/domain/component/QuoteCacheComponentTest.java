@@ -0,0 +1,75 @@
+package me.hajk1.domain.component;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.vertx.core.Future;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.web.client.HttpResponse;
+import io.vertx.junit5.VertxTestContext;
+import java.math.BigDecimal;
+import me.hajk1.domain.model.CabinClass;
+import me.hajk1.domain.model.CustomerTier;
+import me.hajk1.domain.model.PointsQuoteRequest;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("Quote Cache")
+class QuoteCacheComponentTest extends ComponentTestBase {
+
+  @Override
+  protected JsonObject applicationConfig() {
+    // No rate or promo cache, so every upstream call the quote cache saves shows up in WireMock
+    return super.applicationConfig()
+        .put("quote.cache.enabled", true)
+        .put("fx.cache.enabled", false)
+        .put("promo.cache.enabled", false);
+  }
+
+  @Test
+  @DisplayName("Should answer repeated identical quotes without calling FX or promo")
+  void shouldServeRepeatedQuotesFromCache(VertxTestContext testContext) {
+    stubFxRate("USD", 3.67);
+    stubPromoCode("SUMMER25", 25, false);
+
+    // The first quote records the rate and promo; the second is cached; the third is a hit
+    quote()
+        .compose(first -> quote())
+        .compose(second -> quote())
+        .compose(
+            third -> {
+              assertThat(third.bodyAsJsonObject().getInteger("totalPoints")).isEqualTo(458);
+              return client.get(serverPort, "localhost", "/metrics").send();
+            })
+        .onComplete(
+            testContext.succeeding(
+                response ->
+                    testContext.verify(
+                        () -> {
+                          fxServiceMock.verify(2, getRequestedFor(urlPathEqualTo("/fx/rates")));
+                          promoServiceMock.verify(
+                              2, getRequestedFor(urlPathEqualTo("/promo/SUMMER25")));
+                          assertThat(response.bodyAsString())
+                              .contains("quote_cache_hits_total 1")
+                              .contains("quote_cache_misses_total 2")
+                              .contains("quote_cache_entries 1");
+
+                          testContext.completeNow();
+                        })));
+  }
+
+  private Future<HttpResponse<Buffer>> quote() {
+    var request =
+        PointsQuoteRequest.builder()
+            .fareAmount(BigDecimal.valueOf(100))
+            .currency("USD")
+            .cabinClass(CabinClass.ECONOMY)
+            .customerTier(CustomerTier.NONE)
+            .promoCode("SUMMER25")
+            .build();
+    return client
+        .post(serverPort, "localhost", "/v1/points/quote")
+        .sendJsonObject(JsonObject.mapFrom(request));
+  }
+}
@@ -0,0 +1,122 @@
+package me.hajk1.domain.component;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.vertx.core.Future;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.web.client.HttpResponse;
+import io.vertx.junit5.VertxTestContext;
+import java.math.BigDecimal;
+import me.hajk1.domain.model.CabinClass;
+import me.hajk1.domain.model.CustomerTier;
+import me.hajk1.domain.model.PointsQuoteRequest;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("Quote Route - Request Deadlines")
+class RequestDeadlineComponentTest extends ComponentTestBase {
+
+  @Test
+  @DisplayName("Should answer 504 once the caller's timeout runs out waiting on FX")
+  void shouldFailWhenFxOutlivesDeadline(VertxTestContext testContext) {
+    fxServiceMock.stubFor(
+        get(urlPathEqualTo("/fx/rates"))
+            .willReturn(
+                aResponse()
+                    .withStatus(200)
+                    .withHeader("Content-Type", "application/json")
+                    .withBody("{\"rate\": 3.67}")
+                    .withFixedDelay(3000)));
+    long start = System.currentTimeMillis();
+
+    quote(null, "300")
+        .onComplete(
+            testContext.succeeding(
+                response ->
+                    testContext.verify(
+                        () -> {
+                          assertThat(response.statusCode()).isEqualTo(504);
+                          assertThat(response.bodyAsJsonObject().getString("error"))
+                              .isEqualTo("Deadline exceeded");
+                          // Nowhere near the FX delay, let alone three attempts of it
+                          assertThat(System.currentTimeMillis() - start).isLessThan(1500);
+                          fxServiceMock.verify(1, getRequestedFor(urlPathEqualTo("/fx/rates")));
+                          testContext.completeNow();
+                        })));
+  }
+
+  @Test
+  @DisplayName("Should quote without the promo once the caller's timeout runs out waiting on it")
+  void shouldDropPromoWhenItOutlivesDeadline(VertxTestContext testContext) {
+    stubFxRate("USD", 3.67);
+    promoServiceMock.stubFor(
+        get(urlPathEqualTo("/promo/SLOW"))
+            .willReturn(
+                aResponse()
+                    .withStatus(200)
+                    .withFixedDelay(3000)
+                    .withBody(
+                        """
+                        {
+                            "code": "SLOW",
+                            "bonusPercentage": 50,
+                            "expiresInDays": 30
+                        }
+                        """)));
+    long start = System.currentTimeMillis();
+
+    quote("SLOW", "300")
+        .onComplete(
+            testContext.succeeding(
+                response ->
+                    testContext.verify(
+                        () -> {
+                          assertThat(response.statusCode()).isEqualTo(200);
+                          assertThat(response.bodyAsJsonObject().getInteger("promoBonus"))
+                              .isEqualTo(0);
+                          // Well inside promo.timeout.ms - the deadline cut it short
+                          assertThat(System.currentTimeMillis() - start).isLessThan(1500);
+                          testContext.completeNow();
+                        })));
+  }
+
+  @Test
+  @DisplayName("Should answer 504 without calling FX when the deadline passed on arrival")
+  void shouldFailExpiredDeadlineWithoutUpstreamCalls(VertxTestContext testContext) {
+    stubFxRate("USD", 3.67);
+    String aSecondAgo = Long.toString(System.currentTimeMillis() - 1000);
+
+    client
+        .post(serverPort, "localhost", "/v1/points/quote")
+        .putHeader("X-Request-Deadline", aSecondAgo)
+        .sendJsonObject(JsonObject.mapFrom(request(null)))
+        .onComplete(
+            testContext.succeeding(
+                response ->
+                    testContext.verify(
+                        () -> {
+                          assertThat(response.statusCode()).isEqualTo(504);
+                          fxServiceMock.verify(0, getRequestedFor(urlPathEqualTo("/fx/rates")));
+                          testContext.completeNow();
+                        })));
+  }
+
+  private Future<HttpResponse<Buffer>> quote(String promoCode, String timeoutMs) {
+    return client
+        .post(serverPort, "localhost", "/v1/points/quote")
+        .putHeader("X-Request-Timeout-Ms", timeoutMs)
+        .sendJsonObject(JsonObject.mapFrom(request(promoCode)));
+  }
+
+  private static PointsQuoteRequest request(String promoCode) {
+    return PointsQuoteRequest.builder()
+        .fareAmount(BigDecimal.valueOf(100))
+        .currency("USD")
+        .cabinClass(CabinClass.ECONOMY)
+        .customerTier(CustomerTier.NONE)
+        .promoCode(promoCode)
+        .build();
+  }
+}
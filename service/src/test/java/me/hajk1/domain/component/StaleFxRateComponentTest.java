@@ -0,0 +1,101 @@
+package me.hajk1.domain.component;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.vertx.core.Future;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.web.client.HttpResponse;
+import io.vertx.junit5.VertxTestContext;
+import java.math.BigDecimal;
+import me.hajk1.domain.model.CabinClass;
+import me.hajk1.domain.model.CustomerTier;
+import me.hajk1.domain.model.PointsQuoteRequest;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("FX Service - Stale Rate Fallback")
+class StaleFxRateComponentTest extends ComponentTestBase {
+
+  @Override
+  protected JsonObject applicationConfig() {
+    // No rate cache, so every quote asks the FX service and the fallback is what's under test
+    return super.applicationConfig()
+        .put("fx.cache.enabled", false)
+        .put("fx.stale.serveAfter.ms", 200);
+  }
+
+  @Test
+  @DisplayName("Should serve the last good rate with a warning when the FX service fails")
+  void shouldServeStaleRateWhenFxFails(VertxTestContext testContext) {
+    stubFxRate("USD", 3.67);
+
+    quote()
+        .compose(
+            fresh -> {
+              assertThat(fresh.bodyAsJsonObject().getJsonArray("warnings")).isEmpty();
+              fxServiceMock.resetMappings();
+              fxServiceMock.stubFor(
+                  get(urlPathEqualTo("/fx/rates")).willReturn(aResponse().withStatus(503)));
+              return quote();
+            })
+        .onComplete(
+            testContext.succeeding(
+                response ->
+                    testContext.verify(
+                        () -> {
+                          assertThat(response.statusCode()).isEqualTo(200);
+                          JsonObject body = response.bodyAsJsonObject();
+                          assertThat(body.getInteger("basePoints")).isEqualTo(367);
+                          assertThat(body.getJsonArray("warnings")).contains("STALE_FX_RATE");
+                          testContext.completeNow();
+                        })));
+  }
+
+  @Test
+  @DisplayName("Should not make the quote wait on a slow FX service when a good rate is known")
+  void shouldServeStaleRateWhenFxIsSlow(VertxTestContext testContext) {
+    stubFxRate("USD", 3.67);
+    long[] start = new long[1];
+
+    quote()
+        .compose(
+            fresh -> {
+              fxServiceMock.resetMappings();
+              fxServiceMock.stubFor(
+                  get(urlPathEqualTo("/fx/rates"))
+                      .willReturn(
+                          aResponse()
+                              .withStatus(200)
+                              .withHeader("Content-Type", "application/json")
+                              .withBody("{\"rate\": 4.00}")
+                              .withFixedDelay(2000)));
+              start[0] = System.currentTimeMillis();
+              return quote();
+            })
+        .onComplete(
+            testContext.succeeding(
+                response ->
+                    testContext.verify(
+                        () -> {
+                          assertThat(System.currentTimeMillis() - start[0]).isLessThan(1000);
+                          assertThat(response.bodyAsJsonObject().getJsonArray("warnings"))
+                              .contains("STALE_FX_RATE");
+                          testContext.completeNow();
+                        })));
+  }
+
+  private Future<HttpResponse<Buffer>> quote() {
+    var request =
+        PointsQuoteRequest.builder()
+            .fareAmount(BigDecimal.valueOf(100))
+            .currency("USD")
+            .cabinClass(CabinClass.ECONOMY)
+            .customerTier(CustomerTier.NONE)
+            .build();
+    return client
+        .post(serverPort, "localhost", "/v1/points/quote")
+        .sendJsonObject(JsonObject.mapFrom(request));
+  }
+}
@@ -0,0 +1,106 @@
+package me.hajk1.domain.component;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.JsonObject;
+import io.vertx.junit5.VertxTestContext;
+import java.util.HashMap;
+import java.util.Map;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("Points Quote - NDJSON Streaming Endpoint")
+class StreamingQuoteComponentTest extends ComponentTestBase {
+
+  @Override
+  protected JsonObject applicationConfig() {
+    // Small in-flight window so the test exercises pause/resume
+    return super.applicationConfig().put("stream.maxInFlight", 2);
+  }
+
+  @Test
+  @DisplayName("Should stream one result per input line")
+  void shouldStreamOneResultPerLine(VertxTestContext testContext) {
+    stubFxRate("USD", 3.67);
+
+    StringBuilder body = new StringBuilder();
+    for (int i = 1; i <= 20; i++) {
+      body.append(
+              String.format(
+                  "{\"fareAmount\": %d, \"currency\": \"USD\", \"cabinClass\": \"ECONOMY\","
+                      + " \"customerTier\": \"NONE\"}",
+                  i * 100))
+          .append('\n');
+    }
+    body.append("\n"); // blank lines are skipped
+    body.append("{\"fareAmount\": -1, \"currency\": \"USD\", \"cabinClass\": \"ECONOMY\"}\n");
+    body.append("not json\n");
+
+    client
+        .post(serverPort, "localhost", "/v1/points/quote/stream")
+        .sendBuffer(Buffer.buffer(body.toString()))
+        .onComplete(
+            testContext.succeeding(
+                response ->
+                    testContext.verify(
+                        () -> {
+                          assertThat(response.statusCode()).isEqualTo(200);
+                          assertThat(response.getHeader("Content-Type"))
+                              .contains("application/x-ndjson");
+
+                          // Results arrive in completion order; index ties them to input lines
+                          Map<Integer, JsonObject> byIndex = new HashMap<>();
+                          for (String line : response.bodyAsString().split("\n")) {
+                            JsonObject item = new JsonObject(line);
+                            byIndex.put(item.getInteger("index"), item);
+                          }
+                          assertThat(byIndex).hasSize(22);
+
+                          assertThat(byIndex.get(0).getJsonObject("quote").getInteger("basePoints"))
+                              .isEqualTo(367);
+                          assertThat(
+                                  byIndex.get(19).getJsonObject("quote").getInteger("basePoints"))
+                              .isEqualTo(7340);
+                          assertThat(byIndex.get(20).getInteger("status")).isEqualTo(400);
+                          assertThat(byIndex.get(20).getString("error")).contains("positive");
+                          assertThat(byIndex.get(21).getString("error"))
+                              .isEqualTo("Invalid JSON format");
+
+                          testContext.completeNow();
+                        })));
+  }
+
+  @Test
+  @DisplayName("Should stop reading after an oversized record")
+  void shouldStopReadingAfterOversizedRecord(VertxTestContext testContext) {
+    stubFxRate("USD", 3.67);
+
+    StringBuilder body = new StringBuilder("x".repeat(70 * 1024)).append('\n');
+    for (int i = 0; i < 5; i++) {
+      body.append(
+          "{\"fareAmount\": 100, \"currency\": \"USD\", \"cabinClass\": \"ECONOMY\"}\n");
+    }
+
+    client
+        .post(serverPort, "localhost", "/v1/points/quote/stream")
+        .sendBuffer(Buffer.buffer(body.toString()))
+        .onComplete(
+            testContext.succeeding(
+                response ->
+                    testContext.verify(
+                        () -> {
+                          assertThat(response.bodyAsString().split("\n"))
+                              .singleElement()
+                              .satisfies(
+                                  line ->
+                                      assertThat(new JsonObject(line).getString("error"))
+                                          .isEqualTo("Invalid record"));
+                          // Nothing after the bad record was parsed
+                          fxServiceMock.verify(0, getRequestedFor(urlPathEqualTo("/fx/rates")));
+
+                          testContext.completeNow();
+                        })));
+  }
+}
@@ -0,0 +1,161 @@
+package me.hajk1.domain.component;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.vertx.core.DeploymentOptions;
+import io.vertx.core.ThreadingModel;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.junit5.VertxTestContext;
+import java.math.BigDecimal;
+import me.hajk1.domain.model.CabinClass;
+import me.hajk1.domain.model.CustomerTier;
+import me.hajk1.domain.model.PointsQuoteRequest;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+
+/** The same routes on a virtual-thread verticle, where quotes await their lookups. */
+@EnabledForJreRange(min = JRE.JAVA_21)
+@DisplayName("Quote Routes - Virtual Threads")
+class VirtualThreadComponentTest extends ComponentTestBase {
+
+  @Override
+  @SuppressWarnings("deprecation") // As in Application.deploy: no other way to ask for them
+  protected DeploymentOptions deploymentOptions() {
+    return super.deploymentOptions().setThreadingModel(ThreadingModel.VIRTUAL_THREAD);
+  }
+
+  @Test
+  @DisplayName("Should quote with promo like the event-loop mode")
+  void shouldQuoteWithPromo(VertxTestContext testContext) {
+    stubFxRate("USD", 3.67);
+    stubPromoCode("SUMMER25", 25, false);
+
+    client
+        .post(serverPort, "localhost", "/v1/points/quote")
+        .sendJsonObject(JsonObject.mapFrom(request("SUMMER25")))
+        .onComplete(
+            testContext.succeeding(
+                response ->
+                    testContext.verify(
+                        () -> {
+                          assertThat(response.statusCode()).isEqualTo(200);
+                          assertThat(response.bodyAsJsonObject().getInteger("totalPoints"))
+                              .isEqualTo(458);
+                          testContext.completeNow();
+                        })));
+  }
+
+  @Test
+  @DisplayName("Should answer 500 when FX fails, like the event-loop mode")
+  void shouldFailQuoteWhenFxFails(VertxTestContext testContext) {
+    fxServiceMock.stubFor(get(urlPathEqualTo("/fx/rates")).willReturn(aResponse().withStatus(503)));
+
+    client
+        .post(serverPort, "localhost", "/v1/points/quote")
+        .sendJsonObject(JsonObject.mapFrom(request(null)))
+        .onComplete(
+            testContext.succeeding(
+                response ->
+                    testContext.verify(
+                        () -> {
+                          assertThat(response.statusCode()).isEqualTo(500);
+                          testContext.completeNow();
+                        })));
+  }
+
+  @Test
+  @DisplayName("Should share lookups and keep request order in a batch")
+  void shouldQuoteBatch(VertxTestContext testContext) {
+    stubFxRate("USD", 3.67);
+
+    JsonArray batch =
+        new JsonArray()
+            .add(JsonObject.mapFrom(request(null)))
+            .add(JsonObject.mapFrom(request(null)).put("fareAmount", -1))
+            .add(JsonObject.mapFrom(request(null)));
+
+    client
+        .post(serverPort, "localhost", "/v1/points/quote/batch")
+        .sendJson(batch)
+        .onComplete(
+            testContext.succeeding(
+                response ->
+                    testContext.verify(
+                        () -> {
+                          JsonArray results = response.bodyAsJsonObject().getJsonArray("results");
+                          assertThat(results.getJsonObject(0).getInteger("status")).isEqualTo(200);
+                          assertThat(results.getJsonObject(1).getInteger("status")).isEqualTo(400);
+                          assertThat(results.getJsonObject(2).getInteger("status")).isEqualTo(200);
+                          fxServiceMock.verify(1, getRequestedFor(urlPathEqualTo("/fx/rates")));
+                          testContext.completeNow();
+                        })));
+  }
+
+  @Test
+  @DisplayName("Should time validation for every batch item, invalid ones included")
+  void shouldValidateEveryBatchItem(VertxTestContext testContext) {
+    stubFxRate("USD", 3.67);
+
+    JsonArray batch =
+        new JsonArray()
+            .add(JsonObject.mapFrom(request(null)))
+            .add(JsonObject.mapFrom(request(null)).put("fareAmount", -1));
+
+    client
+        .post(serverPort, "localhost", "/v1/points/quote/batch")
+        .sendJson(batch)
+        .compose(
+            response -> {
+              JsonArray results = response.bodyAsJsonObject().getJsonArray("results");
+              assertThat(results.getJsonObject(0).getInteger("status")).isEqualTo(200);
+              assertThat(results.getJsonObject(1).getInteger("status")).isEqualTo(400);
+              return client.get(serverPort, "localhost", "/metrics").send();
+            })
+        .onComplete(
+            testContext.succeeding(
+                response ->
+                    testContext.verify(
+                        () -> {
+                          assertThat(response.bodyAsString())
+                              .contains("quote_stage_latency_us_count{stage=\"validation\"} 2");
+                          testContext.completeNow();
+                        })));
+  }
+
+  @Test
+  @DisplayName("Should answer every record of a stream sent in one buffer")
+  void shouldAnswerEveryStreamedRecord(VertxTestContext testContext) {
+    stubFxRate("USD", 3.67);
+
+    // One buffer, so the parser hands out all records in a single callback
+    String line = JsonObject.mapFrom(request(null)).encode();
+    Buffer body = Buffer.buffer(line + "\n" + line + "\n" + line + "\nnot json\n");
+
+    client
+        .post(serverPort, "localhost", "/v1/points/quote/stream")
+        .sendBuffer(body)
+        .onComplete(
+            testContext.succeeding(
+                response ->
+                    testContext.verify(
+                        () -> {
+                          assertThat(response.bodyAsString().split("\n")).hasSize(4);
+                          testContext.completeNow();
+                        })));
+  }
+
+  private static PointsQuoteRequest request(String promoCode) {
+    return PointsQuoteRequest.builder()
+        .fareAmount(BigDecimal.valueOf(100))
+        .currency("USD")
+        .cabinClass(CabinClass.ECONOMY)
+        .customerTier(CustomerTier.NONE)
+        .promoCode(promoCode)
+        .build();
+  }
+}
@@ -0,0 +1,119 @@
+package me.hajk1.domain.model;
+
+import static org.assertj.core.api.Assertions.*;
+
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.DecodeException;
+import io.vertx.core.json.JsonObject;
+import java.math.BigDecimal;
+import java.util.List;
+import me.hajk1.infrastructure.config.JacksonConfig;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/** The generated codecs against the Jackson mapping they replace on the quote endpoint. */
+class PointsQuoteJsonCodecTest {
+
+  @BeforeAll
+  static void configureJackson() {
+    JacksonConfig.configure();
+  }
+
+  @Test
+  void shouldKeepExactFareDigits() {
+    PointsQuoteRequest request =
+        PointsQuoteRequestJsonCodec.decode(
+            Buffer.buffer(
+                """
+                {"fareAmount":1234.50,"currency":"USD","cabinClass":"ECONOMY",\
+                "customerTier":"GOLD","promoCode":"SUMMER25"}"""));
+
+    assertThat(request.getFareAmount()).isEqualTo(new BigDecimal("1234.50"));
+    assertThat(request.getCabinClass()).isEqualTo(CabinClass.ECONOMY);
+    assertThat(request.getCustomerTier()).isEqualTo(CustomerTier.GOLD);
+    assertThat(request.getPromoCode()).isEqualTo("SUMMER25");
+  }
+
+  @ParameterizedTest
+  @ValueSource(
+      strings = {
+        "{\"fareAmount\":100,\"currency\":\"USD\",\"unknown\":{\"nested\":[1,{\"a\":null}]}}",
+        "{\"fareAmount\":\"99.95\",\"currency\":5,\"customerTier\":1}",
+        "{\"cabinClass\":null,\"fareAmount\":null,\"promoCode\":\"\\u00e9\"}",
+        "{\"currency\":\"USD\",\"currency\":\"EUR\"}",
+        "{}"
+      })
+  void shouldDecodeRequestsLikeJackson(String json) {
+    assertThat(PointsQuoteRequestJsonCodec.decode(Buffer.buffer(json)))
+        .isEqualTo(new JsonObject(json).mapTo(PointsQuoteRequest.class));
+  }
+
+  @ParameterizedTest
+  @ValueSource(
+      strings = {
+        "{\"cabinClass\":\"economy\"}",
+        "{\"cabinClass\":\"\"}",
+        "{\"customerTier\":9}",
+        "{\"fareAmount\":true}",
+        "{\"fareAmount\":\"abc\"}",
+        "{\"currency\":{}}"
+      })
+  void shouldRejectBadValuesLikeJackson(String json) {
+    assertThatThrownBy(() -> new JsonObject(json).mapTo(PointsQuoteRequest.class))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> PointsQuoteRequestJsonCodec.decode(Buffer.buffer(json)))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {"", "[]", "{\"fareAmount\":", "{\"a\":1} x"})
+  void shouldRejectMalformedJson(String json) {
+    assertThatThrownBy(() -> PointsQuoteRequestJsonCodec.decode(Buffer.buffer(json)))
+        .isInstanceOf(DecodeException.class);
+  }
+
+  @Test
+  void shouldEncodeResponsesLikeJackson() {
+    for (PointsQuoteResponse response :
+        List.of(
+            PointsQuoteResponse.builder()
+                .basePoints(4531)
+                .tierBonus(1359)
+                .promoBonus(1472)
+                .totalPoints(7362)
+                .effectiveFxRate(3.67)
+                .warnings(List.of("PROMO_EXPIRES_SOON", "quote \"x\"\n"))
+                .build(),
+            PointsQuoteResponse.builder().effectiveFxRate(1e-7).warnings(null).build(),
+            PointsQuoteResponse.builder().effectiveFxRate(Double.NaN).build())) {
+      assertThat(PointsQuoteResponseJsonCodec.encode(response).toString())
+          .isEqualTo(JsonObject.mapFrom(response).encode());
+    }
+  }
+
+  @Test
+  void shouldRoundTripResponses() {
+    PointsQuoteResponse response =
+        PointsQuoteResponse.builder()
+            .basePoints(1)
+            .tierBonus(2)
+            .promoBonus(3)
+            .totalPoints(6)
+            .effectiveFxRate(0.27)
+            .warnings(List.of("PROMO_EXPIRES_SOON"))
+            .build();
+
+    assertThat(PointsQuoteResponseJsonCodec.decode(PointsQuoteResponseJsonCodec.encode(response)))
+        .isEqualTo(response);
+  }
+
+  @Test
+  void shouldKeepBuilderDefaultForMissingWarnings() {
+    PointsQuoteResponse response =
+        PointsQuoteResponseJsonCodec.decode(Buffer.buffer("{\"basePoints\":1}"));
+
+    assertThat(response.getWarnings()).isEmpty();
+  }
+}
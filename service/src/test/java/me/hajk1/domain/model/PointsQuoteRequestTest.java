@@ -3,6 +3,7 @@ package me.hajk1.domain.model;
 import static org.assertj.core.api.Assertions.*;
 
 import java.math.BigDecimal;
+import me.hajk1.domain.service.ValidationError;
 import me.hajk1.domain.service.ValidationException;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
@@ -71,4 +72,14 @@ class PointsQuoteRequestTest {
 
     assertThatNoException().isThrownBy(request::validate);
   }
+
+  @Test
+  void shouldRejectWithSharedStacklessException() {
+    var request = PointsQuoteRequest.builder().currency("USD").build();
+
+    assertThat(request.validationError()).isEqualTo(ValidationError.FARE_NOT_POSITIVE);
+    assertThatThrownBy(request::validate)
+        .isSameAs(ValidationError.FARE_NOT_POSITIVE.exception())
+        .satisfies(ex -> assertThat(ex.getStackTrace()).isEmpty());
+  }
 }
@@ -0,0 +1,37 @@
+package me.hajk1.domain.service;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+class LogLimiterTest {
+
+  private final AtomicLong clock = new AtomicLong(1_000_000);
+
+  @Test
+  void shouldLetPermitsThroughThenSuppress() {
+    var limiter = new LogLimiter(2, 10_000, clock::get);
+
+    assertThat(limiter.tryAcquire()).isZero();
+    assertThat(limiter.tryAcquire()).isZero();
+    assertThat(limiter.tryAcquire()).isEqualTo(-1);
+    assertThat(limiter.tryAcquire()).isEqualTo(-1);
+  }
+
+  @Test
+  void shouldReportSuppressedCountOnceIntervalHasPassed() {
+    var limiter = new LogLimiter(1, 10_000, clock::get);
+    limiter.tryAcquire();
+    for (int i = 0; i < 41; i++) {
+      limiter.tryAcquire();
+    }
+
+    clock.addAndGet(9_999);
+    assertThat(limiter.tryAcquire()).isEqualTo(-1);
+
+    clock.addAndGet(1);
+    assertThat(limiter.tryAcquire()).isEqualTo(42);
+    assertThat(limiter.tryAcquire()).isEqualTo(-1);
+  }
+}
@@ -0,0 +1,99 @@
+package me.hajk1.domain.service;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.math.BigDecimal;
+import java.util.Random;
+import me.hajk1.domain.model.CustomerTier;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+/** The fixed-point path must agree with the BigDecimal reference on every input. */
+class PointsArithmeticTest {
+
+  private static final double[] RATES = {3.67, 4.05, 4.73, 0.025, 1.0, 0.1, 3.6725, 0.00271};
+
+  // Fixed seed so a failure reproduces
+  private final Random random = new Random(20251125L);
+
+  @ParameterizedTest
+  @CsvSource({
+    "1234.50, 3.67, 4531", // 4530.615 - the tie that pushed us to BigDecimal
+    "1000, 3.0, 3000",
+    "0.01, 0.025, 0",
+    "20, 0.025, 1", // 0.5 rounds up
+    "999999999999.99, 3.67, 2097929216", // overflows int exactly like BigDecimal.intValue()
+    "1E+3, 3.67, 3670" // negative scale goes through the reference path
+  })
+  void shouldMatchKnownBasePoints(String fare, double rate, int expected) {
+    assertThat(PointsArithmetic.basePoints(new BigDecimal(fare), rate)).isEqualTo(expected);
+    assertThat(PointsArithmetic.basePointsReference(new BigDecimal(fare), rate))
+        .isEqualTo(expected);
+  }
+
+  @Test
+  void shouldMatchReferenceForRandomFaresAndRates() {
+    for (int i = 0; i < 200_000; i++) {
+      BigDecimal fare = BigDecimal.valueOf(random.nextLong(1, 100_000_000), random.nextInt(0, 5));
+      double rate = i % 2 == 0 ? RATES[random.nextInt(RATES.length)] : randomRate();
+
+      assertThat(PointsArithmetic.basePoints(fare, rate))
+          .as("fare %s, rate %s", fare, rate)
+          .isEqualTo(PointsArithmetic.basePointsReference(fare, rate));
+    }
+  }
+
+  @Test
+  void shouldMatchReferenceForExtremeValues() {
+    BigDecimal[] fares = {
+      new BigDecimal("0.0000001"),
+      new BigDecimal("9223372036854775807"),
+      new BigDecimal("12345678901234567890.12"),
+      new BigDecimal("1.000000000000000000001")
+    };
+    double[] rates = {Double.MIN_VALUE, 1e-300, 1e300, 123456789.123456789, -3.67, 0.0};
+    for (BigDecimal fare : fares) {
+      for (double rate : rates) {
+        assertThat(PointsArithmetic.basePoints(fare, rate))
+            .as("fare %s, rate %s", fare, rate)
+            .isEqualTo(PointsArithmetic.basePointsReference(fare, rate));
+      }
+    }
+  }
+
+  @Test
+  void shouldMatchReferenceForEveryTierExhaustively() {
+    for (CustomerTier tier : CustomerTier.values()) {
+      for (int basePoints = 0; basePoints <= 200_000; basePoints++) {
+        assertThat(PointsArithmetic.tierBonus(basePoints, tier))
+            .isEqualTo(PointsArithmetic.tierBonusReference(basePoints, tier));
+      }
+      for (int basePoints : new int[] {Integer.MIN_VALUE, -1, Integer.MAX_VALUE}) {
+        assertThat(PointsArithmetic.tierBonus(basePoints, tier))
+            .isEqualTo(PointsArithmetic.tierBonusReference(basePoints, tier));
+      }
+    }
+  }
+
+  @Test
+  void shouldMatchReferenceForEveryPromoPercentage() {
+    for (int percentage = 0; percentage <= 200; percentage++) {
+      for (int i = 0; i < 2_000; i++) {
+        int points = random.nextInt(0, 1_000_000);
+        assertThat(PointsArithmetic.promoBonus(points, percentage))
+            .isEqualTo(PointsArithmetic.promoBonusReference(points, percentage));
+      }
+      assertThat(PointsArithmetic.promoBonus(Integer.MAX_VALUE, percentage))
+          .isEqualTo(PointsArithmetic.promoBonusReference(Integer.MAX_VALUE, percentage));
+    }
+  }
+
+  private double randomRate() {
+    // Mostly short decimals like real quotes, sometimes a full-precision double
+    if (random.nextBoolean()) {
+      return random.nextInt(1, 100_000) / Math.pow(10, random.nextInt(0, 6));
+    }
+    return random.nextDouble() * 10;
+  }
+}
@@ -0,0 +1,53 @@
+package me.hajk1.domain.service;
+
+import static org.assertj.core.api.Assertions.*;
+
+import io.vertx.core.Future;
+import me.hajk1.domain.model.PromoDetails;
+import me.hajk1.domain.model.PromoLookup;
+import org.junit.jupiter.api.Test;
+
+/** The default {@code lookup} over a {@code getPromoDetails}-only service, and back again. */
+class PromoServiceTest {
+
+  private static final PromoDetails SUMMER =
+      PromoDetails.builder().code("SUMMER25").bonusPercentage(25).expiresInDays(30).build();
+
+  @Test
+  void shouldMapDetailsToFound() {
+    PromoService service = code -> Future.succeededFuture(SUMMER);
+
+    PromoLookup lookup = service.lookup("SUMMER25").result();
+
+    assertThat(lookup.isFound()).isTrue();
+    assertThat(lookup.getDetails()).isEqualTo(SUMMER);
+  }
+
+  @Test
+  void shouldMapUnknownCodeToSharedNotFound() {
+    PromoService service = code -> Future.failedFuture(new PromoNotFoundException(code));
+
+    assertThat(service.lookup("NOPE").result()).isSameAs(PromoLookup.notFound());
+  }
+
+  @Test
+  void shouldMapFailureToError() {
+    PromoService service = code -> Future.failedFuture("Promo service error: 503");
+
+    PromoLookup lookup = service.lookup("SUMMER25").result();
+
+    assertThat(lookup.getStatus()).isEqualTo(PromoLookup.Status.ERROR);
+    assertThat(lookup.getError()).hasMessage("Promo service error: 503");
+  }
+
+  @Test
+  void shouldTurnLookupsBackIntoDetailsFutures() {
+    assertThat(PromoService.toDetails("SUMMER25", PromoLookup.found(SUMMER)).result())
+        .isEqualTo(SUMMER);
+    assertThat(PromoService.toDetails("NOPE", PromoLookup.notFound()).cause())
+        .isInstanceOf(PromoNotFoundException.class)
+        .hasMessageContaining("NOPE");
+    assertThat(PromoService.toDetails("X", PromoLookup.error(new IllegalStateException())).cause())
+        .isInstanceOf(IllegalStateException.class);
+  }
+}
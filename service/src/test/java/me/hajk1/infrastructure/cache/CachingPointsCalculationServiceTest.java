@@ -0,0 +1,166 @@
+package me.hajk1.infrastructure.cache;
+
+import static org.assertj.core.api.Assertions.*;
+
+import io.vertx.core.Future;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import me.hajk1.domain.model.CabinClass;
+import me.hajk1.domain.model.CustomerTier;
+import me.hajk1.domain.model.FxRate;
+import me.hajk1.domain.model.PointsQuoteRequest;
+import me.hajk1.domain.model.PointsQuoteResponse;
+import me.hajk1.domain.model.PromoDetails;
+import me.hajk1.domain.service.FxRateService;
+import me.hajk1.domain.service.PointsCalculationServiceImpl;
+import me.hajk1.domain.service.PromoService;
+import me.hajk1.infrastructure.metrics.MetricsRegistry;
+import org.junit.jupiter.api.Test;
+
+class CachingPointsCalculationServiceTest {
+
+  private static final PromoDetails SUMMER =
+      PromoDetails.builder().code("SUMMER25").bonusPercentage(25).expiresInDays(30).build();
+
+  private final AtomicReference<Double> usdRate = new AtomicReference<>(3.67);
+  private final AtomicBoolean fxStale = new AtomicBoolean();
+  private final AtomicBoolean promoDown = new AtomicBoolean();
+  private final AtomicInteger fxLookups = new AtomicInteger();
+  private final AtomicInteger promoLookups = new AtomicInteger();
+  private final MetricsRegistry metrics = new MetricsRegistry();
+  private final QuoteInputVersions versions = new QuoteInputVersions(100);
+
+  private final FxRateService fx =
+      new FxRateService() {
+        @Override
+        public Future<Double> getRate(String fromCurrency, String toCurrency) {
+          return lookup(fromCurrency, toCurrency).map(FxRate::getRate);
+        }
+
+        @Override
+        public Future<FxRate> lookup(String fromCurrency, String toCurrency) {
+          fxLookups.incrementAndGet();
+          double rate = usdRate.get();
+          return Future.succeededFuture(fxStale.get() ? FxRate.stale(rate) : FxRate.fresh(rate));
+        }
+      };
+
+  private final PromoService promo =
+      code -> {
+        promoLookups.incrementAndGet();
+        return promoDown.get()
+            ? Future.failedFuture("Promo service error: 503")
+            : Future.succeededFuture(SUMMER);
+      };
+
+  private final CachingPointsCalculationService service =
+      new CachingPointsCalculationService(
+          new PointsCalculationServiceImpl(versions.track(fx), versions.track(promo)),
+          new TtlCache<>(100),
+          10_000,
+          versions,
+          metrics);
+
+  @Test
+  void shouldServeRepeatedQuotesWithoutLookups() {
+    // The first quote only teaches the versions the USD rate
+    quote(request("100", null));
+    PointsQuoteResponse cached = quote(request("100", null));
+
+    assertThat(quote(request("100", null))).isSameAs(cached);
+    assertThat(quote(request("100.00", ""))).isSameAs(cached);
+    assertThat(fxLookups).hasValue(2);
+    assertThat(metrics.snapshot())
+        .containsEntry("quote_cache_hits_total", 2L)
+        .containsEntry("quote_cache_misses_total", 2L)
+        .containsEntry("quote_cache_entries", 1L);
+  }
+
+  @Test
+  void shouldRecomputeOnceTheRateMoves() {
+    quote(request("100", null));
+    quote(request("100", null));
+
+    // Another USD quote sees the new rate, which retires everything priced on the old one
+    usdRate.set(4.0);
+    quote(request("200", null));
+
+    assertThat(quote(request("100", null)).getBasePoints()).isEqualTo(400);
+    assertThat(metrics.snapshot()).containsEntry("quote_cache_invalidations_total", 1L);
+  }
+
+  @Test
+  void shouldRecomputeWhenTheTableMoves() {
+    quote(request("100", null));
+    quote(request("100", null));
+
+    usdRate.set(4.0);
+    versions.fxRateTable(
+        new FxRateTable(PointsCalculationServiceImpl.TARGET_CURRENCY, Map.of("USD", 4.0), 0));
+
+    assertThat(quote(request("100", null)).getBasePoints()).isEqualTo(400);
+  }
+
+  @Test
+  void shouldNotReuseQuotesWithoutTheirPromo() {
+    quote(request("100", "SUMMER25"));
+    PointsQuoteResponse withPromo = quote(request("100", "SUMMER25"));
+    assertThat(withPromo.getPromoBonus()).isPositive();
+
+    // A failed lookup moves the promo's version, so the degraded quote is never a hit
+    promoDown.set(true);
+    quote(request("200", "SUMMER25"));
+    assertThat(quote(request("100", "SUMMER25")).getPromoBonus()).isZero();
+    assertThat(quote(request("100", "SUMMER25")).getPromoBonus()).isZero();
+
+    promoDown.set(false);
+    quote(request("100", "SUMMER25"));
+    assertThat(quote(request("100", "SUMMER25")).getPromoBonus()).isPositive();
+    assertThat(promoLookups).hasValue(7);
+  }
+
+  @Test
+  void shouldNotCacheQuotesOnStaleRates() {
+    quote(request("100", null));
+    fxStale.set(true);
+
+    quote(request("200", null));
+    quote(request("200", null));
+
+    assertThat(fxLookups).hasValue(3);
+    assertThat(metrics.snapshot()).containsEntry("quote_cache_entries", 0L);
+  }
+
+  @Test
+  void shouldOnlySendMissesToTheBatch() {
+    quote(request("100", null));
+    quote(request("100", null));
+
+    List<Future<PointsQuoteResponse>> results =
+        service.calculateBatch(
+            List.of(request("100", null), request("300", null), request("-1", null)));
+
+    assertThat(results.get(0).result().getBasePoints()).isEqualTo(367);
+    assertThat(results.get(1).result().getBasePoints()).isEqualTo(1101);
+    assertThat(results.get(2).failed()).isTrue();
+    assertThat(fxLookups).hasValue(3);
+  }
+
+  private PointsQuoteResponse quote(PointsQuoteRequest request) {
+    return service.calculatePoints(request).result();
+  }
+
+  private static PointsQuoteRequest request(String fare, String promoCode) {
+    return PointsQuoteRequest.builder()
+        .fareAmount(new BigDecimal(fare))
+        .currency("USD")
+        .cabinClass(CabinClass.ECONOMY)
+        .customerTier(CustomerTier.NONE)
+        .promoCode(promoCode)
+        .build();
+  }
+}
@@ -0,0 +1,75 @@
+package me.hajk1.infrastructure.cache;
+
+import static org.assertj.core.api.Assertions.*;
+
+import io.vertx.core.Future;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import me.hajk1.domain.model.Deadline;
+import me.hajk1.domain.model.FxRate;
+import me.hajk1.infrastructure.metrics.MetricsRegistry;
+import org.junit.jupiter.api.Test;
+
+class FxRateTableServiceTest {
+
+  private final AtomicLong clock = new AtomicLong(1_000_000);
+  private final AtomicReference<FxRateTable> table = new AtomicReference<>();
+  private final AtomicInteger perPairLookups = new AtomicInteger();
+  private final MetricsRegistry metrics = new MetricsRegistry();
+
+  private final FxRateTableService service =
+      new FxRateTableService(
+          table::get,
+          (from, to) -> {
+            perPairLookups.incrementAndGet();
+            return Future.succeededFuture(1.0);
+          },
+          90_000,
+          300_000,
+          metrics,
+          clock::get);
+
+  @Test
+  void shouldServeRatesFromTable() {
+    table.set(new FxRateTable("AED", Map.of("USD", 3.67), clock.get()));
+
+    assertThat(service.getRate("USD", "AED").result()).isEqualTo(3.67);
+    assertThat(perPairLookups).hasValue(0);
+  }
+
+  @Test
+  void shouldFallBackForPairsMissingFromTable() {
+    table.set(new FxRateTable("AED", Map.of("USD", 3.67), clock.get()));
+
+    assertThat(service.getRate("CHF", "AED").result()).isEqualTo(1.0);
+    assertThat(service.getRate("USD", "EUR").result()).isEqualTo(1.0);
+    assertThat(perPairLookups).hasValue(2);
+  }
+
+  @Test
+  void shouldFallBackUntilFirstTableArrives() {
+    assertThat(service.getRate("USD", "AED").result()).isEqualTo(1.0);
+    assertThat(perPairLookups).hasValue(1);
+  }
+
+  @Test
+  void shouldFlagStaleTableRatesAndStopUsingThemPastMaxAge() {
+    table.set(new FxRateTable("AED", Map.of("USD", 3.67), clock.get()));
+
+    assertThat(service.lookup("USD", "AED", Deadline.NONE).result())
+        .isEqualTo(FxRate.fresh(3.67));
+
+    clock.addAndGet(120_000);
+    assertThat(service.getRate("USD", "AED").result()).isEqualTo(3.67);
+    // Still served from the table, but flagged so the quote gets STALE_FX_RATE
+    assertThat(service.lookup("USD", "AED", Deadline.NONE).result())
+        .isEqualTo(FxRate.stale(3.67));
+    assertThat(metrics.snapshot()).containsEntry("fx_table_stale_hits_total", 2L);
+
+    clock.addAndGet(200_000);
+    assertThat(service.getRate("USD", "AED").result()).isEqualTo(1.0);
+    assertThat(metrics.snapshot()).containsEntry("fx_table_fallbacks_total", 1L);
+  }
+}
@@ -0,0 +1,48 @@
+package me.hajk1.infrastructure.cache;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+class TtlCacheTest {
+
+  private final AtomicLong clock = new AtomicLong(1_000);
+
+  @Test
+  void shouldReturnEntryBeforeExpiry() {
+    var cache = new TtlCache<String, Double>(10, clock::get);
+    cache.put("USD", 3.67, 100);
+
+    clock.addAndGet(99);
+
+    assertThat(cache.getEntry("USD")).isNotNull();
+    assertThat(cache.getEntry("USD").getValue()).isEqualTo(3.67);
+  }
+
+  @Test
+  void shouldDropEntryAfterExpiry() {
+    var cache = new TtlCache<String, Double>(10, clock::get);
+    cache.put("USD", 3.67, 100);
+
+    clock.addAndGet(100);
+
+    assertThat(cache.getEntry("USD")).isNull();
+    assertThat(cache.size()).isZero();
+  }
+
+  @Test
+  void shouldEvictLeastRecentlyUsedEntryWhenFull() {
+    var cache = new TtlCache<String, Double>(2, clock::get);
+    cache.put("USD", 3.67, 1_000);
+    cache.put("EUR", 4.05, 1_000);
+
+    cache.getEntry("USD"); // EUR is now the eldest
+    cache.put("GBP", 4.73, 1_000);
+
+    assertThat(cache.getEntry("EUR")).isNull();
+    assertThat(cache.getEntry("USD")).isNotNull();
+    assertThat(cache.getEntry("GBP")).isNotNull();
+    assertThat(cache.evictions()).isEqualTo(1);
+  }
+}
@@ -0,0 +1,23 @@
+package me.hajk1.infrastructure.client;
+
+import static org.assertj.core.api.Assertions.*;
+
+import org.junit.jupiter.api.RepeatedTest;
+
+class BackoffPolicyTest {
+
+  private final BackoffPolicy backoff =
+      BackoffPolicy.builder().initialDelayMs(50).maxDelayMs(300).multiplier(2.0).build();
+
+  @RepeatedTest(20)
+  void shouldStayWithinExponentialCeiling() {
+    assertThat(backoff.delayBeforeRetry(1)).isBetween(0L, 50L);
+    assertThat(backoff.delayBeforeRetry(2)).isBetween(0L, 100L);
+    assertThat(backoff.delayBeforeRetry(3)).isBetween(0L, 200L);
+  }
+
+  @RepeatedTest(20)
+  void shouldNeverExceedMaxDelay() {
+    assertThat(backoff.delayBeforeRetry(10)).isBetween(0L, 300L);
+  }
+}
@@ -0,0 +1,84 @@
+package me.hajk1.infrastructure.client;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.concurrent.atomic.AtomicLong;
+import me.hajk1.infrastructure.client.CircuitBreaker.State;
+import me.hajk1.infrastructure.metrics.MetricsRegistry;
+import org.junit.jupiter.api.Test;
+
+class CircuitBreakerTest {
+
+  private final AtomicLong clock = new AtomicLong(1_000_000);
+  private final MetricsRegistry metrics = new MetricsRegistry();
+  private final CircuitBreaker breaker = new CircuitBreaker("fx", 3, 5_000, metrics, clock::get);
+
+  @Test
+  void shouldOpenAfterConsecutiveFailures() {
+    breaker.onFailure();
+    breaker.onFailure();
+    breaker.onSuccess(); // resets the streak
+    breaker.onFailure();
+    breaker.onFailure();
+    assertThat(breaker.state()).isEqualTo(State.CLOSED);
+
+    breaker.onFailure();
+
+    assertThat(breaker.state()).isEqualTo(State.OPEN);
+    assertThat(breaker.tryAcquire()).isFalse();
+    assertThat(metrics.snapshot())
+        .containsEntry("circuit_breaker_transitions_total{dependency=\"fx\",state=\"open\"}", 1L)
+        .containsEntry("circuit_breaker_state{dependency=\"fx\"}", 1L);
+  }
+
+  @Test
+  void shouldAllowSingleTrialAfterOpenDuration() {
+    open();
+    clock.addAndGet(5_000);
+
+    assertThat(breaker.tryAcquire()).isTrue();
+    assertThat(breaker.state()).isEqualTo(State.HALF_OPEN);
+    assertThat(breaker.tryAcquire()).isFalse();
+  }
+
+  @Test
+  void shouldCloseWhenTrialSucceeds() {
+    open();
+    clock.addAndGet(5_000);
+    breaker.tryAcquire();
+
+    breaker.onSuccess();
+
+    assertThat(breaker.state()).isEqualTo(State.CLOSED);
+    assertThat(breaker.tryAcquire()).isTrue();
+  }
+
+  @Test
+  void shouldReopenWhenTrialFails() {
+    open();
+    clock.addAndGet(5_000);
+    breaker.tryAcquire();
+
+    breaker.onFailure();
+
+    assertThat(breaker.state()).isEqualTo(State.OPEN);
+    assertThat(breaker.tryAcquire()).isFalse();
+  }
+
+  @Test
+  void shouldAllowAnotherTrialIfFirstNeverReportsBack() {
+    open();
+    clock.addAndGet(5_000);
+    breaker.tryAcquire();
+
+    clock.addAndGet(5_000);
+
+    assertThat(breaker.tryAcquire()).isTrue();
+  }
+
+  private void open() {
+    for (int i = 0; i < 3; i++) {
+      breaker.onFailure();
+    }
+  }
+}
@@ -0,0 +1,52 @@
+package me.hajk1.infrastructure.client;
+
+import static org.assertj.core.api.Assertions.*;
+
+import io.vertx.core.http.ConnectionPoolTooBusyException;
+import me.hajk1.infrastructure.metrics.MetricsRegistry;
+import org.junit.jupiter.api.Test;
+
+class PoolUsageTest {
+
+  private final MetricsRegistry metrics = new MetricsRegistry();
+  private final PoolUsage usage = new PoolUsage("promo", 2, metrics);
+
+  @Test
+  void shouldQueueRequestsBeyondCapacity() {
+    usage.requestStarted();
+    usage.requestStarted();
+    usage.requestStarted();
+
+    assertThat(metrics.snapshot())
+        .containsEntry("http_client_in_use{dependency=\"promo\"}", 2L)
+        .containsEntry("http_client_waiting{dependency=\"promo\"}", 1L)
+        .containsEntry("http_client_capacity{dependency=\"promo\"}", 2L);
+  }
+
+  @Test
+  void shouldHandFreedSlotToWaitingRequest() {
+    usage.requestStarted();
+    usage.requestStarted();
+    usage.requestStarted();
+
+    usage.requestEnded(null);
+    assertThat(metrics.snapshot())
+        .containsEntry("http_client_in_use{dependency=\"promo\"}", 2L)
+        .containsEntry("http_client_waiting{dependency=\"promo\"}", 0L);
+
+    usage.requestEnded(null);
+    usage.requestEnded(null);
+    assertThat(metrics.snapshot()).containsEntry("http_client_in_use{dependency=\"promo\"}", 0L);
+  }
+
+  @Test
+  void shouldCountPoolRejections() {
+    usage.requestStarted();
+    usage.requestEnded(new ConnectionPoolTooBusyException("wait queue full"));
+    usage.requestStarted();
+    usage.requestEnded(new RuntimeException("boom"));
+
+    assertThat(metrics.snapshot())
+        .containsEntry("http_client_rejected_total{dependency=\"promo\"}", 1L);
+  }
+}
@@ -0,0 +1,47 @@
+package me.hajk1.infrastructure.client;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+class RetryBudgetTest {
+
+  private final AtomicLong clock = new AtomicLong(1_000_000);
+
+  @Test
+  void shouldAllowMinimumRetriesWithoutTraffic() {
+    var budget = new RetryBudget(0.2, 3, 10_000, clock::get);
+
+    assertThat(budget.tryAcquireRetry()).isTrue();
+    assertThat(budget.tryAcquireRetry()).isTrue();
+    assertThat(budget.tryAcquireRetry()).isTrue();
+    assertThat(budget.tryAcquireRetry()).isFalse();
+  }
+
+  @Test
+  void shouldCapRetriesAtRatioOfRequests() {
+    var budget = new RetryBudget(0.2, 0, 10_000, clock::get);
+    for (int i = 0; i < 50; i++) {
+      budget.recordRequest();
+    }
+
+    int granted = 0;
+    while (budget.tryAcquireRetry()) {
+      granted++;
+    }
+
+    assertThat(granted).isEqualTo(10);
+  }
+
+  @Test
+  void shouldRefillOnceWindowHasPassed() {
+    var budget = new RetryBudget(0.2, 1, 10_000, clock::get);
+    assertThat(budget.tryAcquireRetry()).isTrue();
+    assertThat(budget.tryAcquireRetry()).isFalse();
+
+    clock.addAndGet(10_000);
+
+    assertThat(budget.tryAcquireRetry()).isTrue();
+  }
+}
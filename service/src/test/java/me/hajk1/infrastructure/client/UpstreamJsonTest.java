@@ -0,0 +1,118 @@
+package me.hajk1.infrastructure.client;
+
+import static org.assertj.core.api.Assertions.*;
+
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.DecodeException;
+import me.hajk1.domain.model.PromoDetails;
+import org.junit.jupiter.api.Test;
+
+class UpstreamJsonTest {
+
+  @Test
+  void shouldReadRateAndSkipOtherFields() {
+    Buffer body =
+        Buffer.buffer(
+            """
+            {"meta":{"source":"ecb","tags":["a","b"]},"timestamp":"2025-11-25T10:00:00Z",\
+            "rate":3.67}""");
+
+    assertThat(UpstreamJson.fxRate(body)).isEqualTo(3.67);
+  }
+
+  @Test
+  void shouldAcceptIntegerAndStringRates() {
+    assertThat(UpstreamJson.fxRate(Buffer.buffer("{\"rate\":4}"))).isEqualTo(4.0);
+    assertThat(UpstreamJson.fxRate(Buffer.buffer("{\"rate\":\"0.27\"}"))).isEqualTo(0.27);
+  }
+
+  @Test
+  void shouldRejectRatesThatAreNotNumbers() {
+    // Each of these used to read as 0.0 and price the quote at zero points
+    for (String rate : new String[] {"\"n/a\"", "\"\"", "null", "\"NaN\"", "{\"v\":1}"}) {
+      assertThatThrownBy(() -> UpstreamJson.fxRate(Buffer.buffer("{\"rate\":" + rate + "}")))
+          .as(rate)
+          .isInstanceOf(DecodeException.class)
+          .hasMessageContaining("FX rate is not a number");
+    }
+  }
+
+  @Test
+  void shouldRejectPromoFieldsThatAreNotNumbers() {
+    for (String bonus : new String[] {"\"lots\"", "\"\"", "null"}) {
+      Buffer body = Buffer.buffer("{\"bonusPercentage\":" + bonus + ",\"expiresInDays\":3}");
+      assertThatThrownBy(() -> UpstreamJson.promoDetails("X", body))
+          .as(bonus)
+          .isInstanceOf(DecodeException.class)
+          .hasMessageContaining("Promo bonusPercentage is not a number");
+    }
+  }
+
+  @Test
+  void shouldAcceptNumericStringPromoFields() {
+    Buffer body = Buffer.buffer("{\"bonusPercentage\":\"25\",\"expiresInDays\":3}");
+
+    assertThat(UpstreamJson.promoDetails("X", body).getBonusPercentage()).isEqualTo(25);
+  }
+
+  @Test
+  void shouldRejectFxResponseWithoutRate() {
+    assertThatThrownBy(() -> UpstreamJson.fxRate(Buffer.buffer("{\"timestamp\":\"now\"}")))
+        .isInstanceOf(DecodeException.class);
+  }
+
+  @Test
+  void shouldRejectMalformedJson() {
+    assertThatThrownBy(() -> UpstreamJson.fxRate(Buffer.buffer("{\"rate\":")))
+        .isInstanceOf(DecodeException.class);
+    assertThatThrownBy(() -> UpstreamJson.promoDetails("X", Buffer.buffer("[1,2]")))
+        .isInstanceOf(DecodeException.class);
+  }
+
+  @Test
+  void shouldReadPromoDetails() {
+    Buffer body =
+        Buffer.buffer(
+            """
+            {"code":"SUMMER25","bonusPercentage":25,"expiresInDays":3,"terms":{"minFare":100}}""");
+
+    PromoDetails promo = UpstreamJson.promoDetails("SUMMER25", body);
+
+    assertThat(promo)
+        .isEqualTo(
+            PromoDetails.builder().code("SUMMER25").bonusPercentage(25).expiresInDays(3).build());
+    assertThat(promo.isExpiringSoon()).isTrue();
+  }
+
+  @Test
+  void shouldReadBufferSlices() {
+    Buffer body = Buffer.buffer("xx{\"rate\":1.5}yy").slice(2, 14);
+
+    assertThat(UpstreamJson.fxRate(body)).isEqualTo(1.5);
+  }
+
+  @Test
+  void shouldReadRateTableAndDropNonNumericEntries() {
+    Buffer body =
+        Buffer.buffer(
+            """
+            {"to":"AED","timestamp":"2025-11-25T10:00:00Z",\
+            "rates":{"USD":3.67,"EUR":"4.05","XAU":null,"ZZZ":{"rate":1}}}""");
+
+    assertThat(UpstreamJson.fxRateTable(body)).containsOnly(entry("USD", 3.67), entry("EUR", 4.05));
+  }
+
+  @Test
+  void shouldDropRateTableEntriesThatDontParse() {
+    Buffer body = Buffer.buffer("{\"rates\":{\"USD\":\"n/a\",\"GBP\":\"\",\"EUR\":4.05}}");
+
+    // Not USD=0.0, which would price every USD quote at zero until the next poll
+    assertThat(UpstreamJson.fxRateTable(body)).containsOnly(entry("EUR", 4.05));
+  }
+
+  @Test
+  void shouldRejectRateTableWithoutRates() {
+    assertThatThrownBy(() -> UpstreamJson.fxRateTable(Buffer.buffer("{\"rates\":[3.67]}")))
+        .isInstanceOf(DecodeException.class);
+  }
+}
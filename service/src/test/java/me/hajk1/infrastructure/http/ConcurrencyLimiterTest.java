@@ -0,0 +1,110 @@
+package me.hajk1.infrastructure.http;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.concurrent.TimeUnit;
+import me.hajk1.infrastructure.metrics.MetricsRegistry;
+import org.junit.jupiter.api.Test;
+
+class ConcurrencyLimiterTest {
+
+  private static final long FAST = TimeUnit.MILLISECONDS.toNanos(10);
+  private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(2000);
+
+  private final MetricsRegistry metrics = new MetricsRegistry();
+  // Quote start times are nanoTime values from after the limiter was built
+  private long t0;
+
+  @Test
+  void shouldShedPastTheLimit() {
+    ConcurrencyLimiter limiter = limiter(2);
+
+    assertThat(limiter.tryAcquire()).isTrue();
+    assertThat(limiter.tryAcquire()).isTrue();
+    assertThat(limiter.tryAcquire()).isFalse();
+
+    limiter.release(t0, t0 + FAST, false);
+    assertThat(limiter.tryAcquire()).isTrue();
+    assertThat(metrics.snapshot())
+        .containsEntry("quote_shed_total", 1L)
+        .containsEntry("quote_in_flight", 2L);
+  }
+
+  @Test
+  void shouldGrowAdditivelyWhileBusyAndFast() {
+    ConcurrencyLimiter limiter = limiter(10);
+
+    for (int round = 0; round < 10; round++) {
+      int admitted = fill(limiter);
+      for (int i = 0; i < admitted; i++) {
+        limiter.release(t0, t0 + FAST, false);
+      }
+    }
+
+    // Only releases with at least half the limit in use count, so about half a slot per round
+    assertThat(limiter.limit()).isEqualTo(14);
+  }
+
+  @Test
+  void shouldNotGrowWhileMostlyIdle() {
+    ConcurrencyLimiter limiter = limiter(10);
+
+    for (int i = 0; i < 1000; i++) {
+      limiter.tryAcquire();
+      limiter.release(t0, t0 + FAST, false);
+    }
+
+    assertThat(limiter.limit()).isEqualTo(10);
+  }
+
+  @Test
+  void shouldBackOffOncePerSlowBurst() {
+    ConcurrencyLimiter limiter = limiter(100);
+
+    int admitted = fill(limiter);
+    for (int i = 0; i < admitted; i++) {
+      limiter.release(t0 + 1, t0 + SLOW, false);
+    }
+    assertThat(limiter.limit()).isEqualTo(90);
+
+    // Started after that decrease, so it counts
+    limiter.tryAcquire();
+    limiter.release(t0 + SLOW + 1, t0 + 2 * SLOW, true);
+    assertThat(limiter.limit()).isEqualTo(81);
+  }
+
+  @Test
+  void shouldNotBackOffBelowMinimum() {
+    ConcurrencyLimiter limiter = limiter(10);
+
+    for (int i = 1; i <= 100; i++) {
+      limiter.tryAcquire();
+      limiter.release(t0 + i * SLOW, t0 + (i + 1) * SLOW, false);
+    }
+
+    assertThat(limiter.limit()).isEqualTo(5);
+    assertThat(metrics.snapshot()).containsEntry("quote_concurrency_limit", 5L);
+  }
+
+  private ConcurrencyLimiter limiter(int initialLimit) {
+    ConcurrencyLimiter limiter =
+        ConcurrencyLimiter.builder()
+            .initialLimit(initialLimit)
+            .minLimit(Math.min(5, initialLimit))
+            .maxLimit(1000)
+            .slowLatencyMs(1000)
+            .backoffRatio(0.9)
+            .metrics(metrics)
+            .build();
+    t0 = System.nanoTime();
+    return limiter;
+  }
+
+  private static int fill(ConcurrencyLimiter limiter) {
+    int admitted = 0;
+    while (limiter.tryAcquire()) {
+      admitted++;
+    }
+    return admitted;
+  }
+}
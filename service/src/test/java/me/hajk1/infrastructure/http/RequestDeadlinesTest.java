@@ -0,0 +1,57 @@
+package me.hajk1.infrastructure.http;
+
+import static org.assertj.core.api.Assertions.*;
+
+import me.hajk1.domain.model.Deadline;
+import org.junit.jupiter.api.Test;
+
+class RequestDeadlinesTest {
+
+  private static final long NOW_MS = 1_700_000_000_000L;
+
+  private final RequestDeadlines deadlines = new RequestDeadlines(5_000, () -> NOW_MS);
+
+  @Test
+  void shouldUseServerDefaultWithoutHeaders() {
+    assertThat(deadlines.forHeaders(null, null).remainingMs()).isBetween(4_900L, 5_000L);
+  }
+
+  @Test
+  void shouldHonourShorterClientTimeout() {
+    assertThat(deadlines.forHeaders("200", null).remainingMs()).isBetween(100L, 200L);
+  }
+
+  @Test
+  void shouldNeverExceedServerDefault() {
+    assertThat(deadlines.forHeaders("60000", null).remainingMs()).isBetween(4_900L, 5_000L);
+  }
+
+  @Test
+  void shouldReadAbsoluteDeadlineAgainstWallClock() {
+    String inOneSecond = Long.toString(NOW_MS + 1_000);
+
+    assertThat(deadlines.forHeaders(null, inOneSecond).remainingMs()).isBetween(900L, 1_000L);
+  }
+
+  @Test
+  void shouldExpireDeadlineThatHasAlreadyPassed() {
+    String aSecondAgo = Long.toString(NOW_MS - 1_000);
+
+    assertThat(deadlines.forHeaders(null, aSecondAgo).isExpired()).isTrue();
+    assertThat(deadlines.forHeaders("-5", null).isExpired()).isTrue();
+  }
+
+  @Test
+  void shouldIgnoreMalformedHeaders() {
+    assertThat(deadlines.forHeaders("soon", "tomorrow").remainingMs()).isBetween(4_900L, 5_000L);
+  }
+
+  @Test
+  void shouldHaveNoLimitWithoutServerDefault() {
+    RequestDeadlines unlimited = new RequestDeadlines(0, () -> NOW_MS);
+
+    assertThat(unlimited.forHeaders(null, null)).isSameAs(Deadline.NONE);
+    assertThat(Deadline.NONE.remainingMs()).isEqualTo(Long.MAX_VALUE);
+    assertThat(unlimited.forHeaders("250", null).remainingMs()).isBetween(150L, 250L);
+  }
+}
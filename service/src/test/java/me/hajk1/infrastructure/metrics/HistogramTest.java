@@ -0,0 +1,83 @@
+package me.hajk1.infrastructure.metrics;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+class HistogramTest {
+
+  private final AtomicLong clock = new AtomicLong(1_000_000);
+  private final Histogram histogram = new Histogram(60_000, clock::get);
+
+  @Test
+  void shouldReturnZeroWithoutSamples() {
+    assertThat(histogram.count()).isZero();
+    assertThat(histogram.valueAtPercentile(99)).isZero();
+  }
+
+  @Test
+  void shouldBeExactForSmallValues() {
+    for (int value = 1; value <= 50; value++) {
+      histogram.record(value);
+    }
+
+    assertThat(histogram.count()).isEqualTo(50);
+    assertThat(histogram.valueAtPercentile(50)).isEqualTo(25);
+    assertThat(histogram.valueAtPercentile(100)).isEqualTo(50);
+  }
+
+  @Test
+  void shouldStayWithinRelativeErrorForLargeValues() {
+    for (int i = 0; i < 99; i++) {
+      histogram.record(2_000);
+    }
+    histogram.record(400_000);
+
+    assertThat(histogram.valueAtPercentile(95)).isBetween(2_000L, 2_070L);
+    assertThat(histogram.valueAtPercentile(100)).isBetween(400_000L, 413_000L);
+  }
+
+  @Test
+  void shouldMapEveryBucketBoundary() {
+    for (long value : new long[] {0, 63, 64, 65, 1_000_003, Long.MAX_VALUE}) {
+      int bucket = Histogram.bucketOf(value);
+      assertThat(Histogram.upperBoundOf(bucket)).isGreaterThanOrEqualTo(value);
+      assertThat(bucket == 0 || Histogram.upperBoundOf(bucket - 1) < value).isTrue();
+    }
+  }
+
+  @Test
+  void shouldForgetSamplesAfterTwoWindows() {
+    histogram.record(10);
+
+    clock.addAndGet(60_000);
+    assertThat(histogram.count()).isEqualTo(1); // still in the previous window
+
+    clock.addAndGet(60_000);
+    assertThat(histogram.count()).isZero();
+  }
+
+  @Test
+  void shouldReadSeveralPercentilesInOnePass() {
+    for (int value = 1; value <= 100; value++) {
+      histogram.record(value);
+    }
+
+    // Above 64 buckets are two wide, so 90 reports its bucket's upper bound
+    assertThat(histogram.valuesAtPercentiles(50, 90, 99)).containsExactly(50, 91, 99);
+  }
+
+  @Test
+  void shouldKeepLifetimeTotalsAcrossWindows() {
+    histogram.record(10);
+    clock.addAndGet(60_000);
+    histogram.count();
+    clock.addAndGet(60_000);
+    histogram.record(5);
+
+    assertThat(histogram.count()).isEqualTo(1);
+    assertThat(histogram.totalCount()).isEqualTo(2);
+    assertThat(histogram.totalSum()).isEqualTo(15);
+  }
+}
@@ -0,0 +1,55 @@
+package me.hajk1.infrastructure.metrics;
+
+import static org.assertj.core.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+class PrometheusFormatTest {
+
+  private final MetricsRegistry metrics = new MetricsRegistry();
+
+  @Test
+  void shouldGroupLabelledSeriesUnderOneTypeLine() {
+    metrics.counter("fx_retries_total").add(3);
+    metrics.gauge("circuit_breaker_state{dependency=\"fx\"}", () -> 0);
+    metrics.gauge("circuit_breaker_state{dependency=\"promo\"}", () -> 1);
+
+    assertThat(metrics.toPrometheusText())
+        .isEqualTo(
+            """
+            # TYPE circuit_breaker_state gauge
+            circuit_breaker_state{dependency="fx"} 0
+            circuit_breaker_state{dependency="promo"} 1
+            # TYPE fx_retries_total counter
+            fx_retries_total 3
+            """);
+  }
+
+  @Test
+  void shouldExposeHistogramsAsSummaries() {
+    Histogram histogram = metrics.histogram("quote_stage_latency_us{stage=\"fx\"}");
+    for (int value = 1; value <= 10; value++) {
+      histogram.record(value);
+    }
+
+    assertThat(metrics.toPrometheusText())
+        .isEqualTo(
+            """
+            # TYPE quote_stage_latency_us summary
+            quote_stage_latency_us{stage="fx",quantile="0.5"} 5
+            quote_stage_latency_us{stage="fx",quantile="0.9"} 9
+            quote_stage_latency_us{stage="fx",quantile="0.99"} 10
+            quote_stage_latency_us{stage="fx",quantile="0.999"} 10
+            quote_stage_latency_us_sum{stage="fx"} 55
+            quote_stage_latency_us_count{stage="fx"} 10
+            """);
+  }
+
+  @Test
+  void shouldAddLabelsToUnlabelledNames() {
+    assertThat(PrometheusFormat.withLabel("promo_latency_us", "quantile", "0.5"))
+        .isEqualTo("promo_latency_us{quantile=\"0.5\"}");
+    assertThat(PrometheusFormat.withSuffix("promo_latency_us", "_count"))
+        .isEqualTo("promo_latency_us_count");
+  }
+}
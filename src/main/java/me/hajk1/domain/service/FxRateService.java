@@ -1,7 +0,0 @@
-package me.hajk1.domain.service;
-
-import io.vertx.core.Future;
-
-public interface FxRateService {
-  Future<Double> getRate(String fromCurrency, String toCurrency);
-}